@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableItemSearchBenchmark {
+    private static final int HOT_ITEMS = 10_000;
+
+    @Param({"1000000"})
+    private int bookings;
+
+    @Param({"sql", "in-memory-cold", "in-memory-warm"})
+    private String backend;
+
+    @Param({"дрель", "самокат 7"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        boolean inMemory = backend.startsWith("in-memory");
+        context = BenchmarkDataset.start(bookings,
+                "shareit.search.in-memory.enabled=" + inMemory,
+                "shareit.search.available.in-memory.enabled=" + inMemory,
+                "shareit.booking.timeline.max-items=" + HOT_ITEMS);
+        context.getBean(ItemSearchIndex.class).build();
+        itemService = context.getBean(ItemService.class);
+        start = LocalDateTime.now().plusDays(30);
+        end = start.plusDays(3);
+        if ("in-memory-warm".equals(backend)) {
+            BookingIntervalIndex bookingIntervalIndex = context.getBean(BookingIntervalIndex.class);
+            LocalDateTime past = LocalDateTime.of(2000, 1, 1, 0, 0);
+            for (long itemId = 1; itemId <= HOT_ITEMS; itemId++) {
+                if (bookingIntervalIndex.reserve(itemId, past, past.plusHours(1))) {
+                    bookingIntervalIndex.releaseAfterCommit(itemId, past, past.plusHours(1));
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<ItemDto> searchItems() {
+        return itemService.searchItems(text, start, end, 0, 10);
+    }
+}
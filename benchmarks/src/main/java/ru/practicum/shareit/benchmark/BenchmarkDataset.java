@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.loadgen.DatasetSeeder;
+import ru.practicum.shareit.loadgen.DatasetSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class BenchmarkDataset {
+    public static final long HEAVY_OWNER_ID = 1L;
+    public static final long BOOKER_ID = 2L;
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkDataset() {
+    }
+
+    public static ConfigurableApplicationContext start(int bookings, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        new DatasetSeeder(context.getBean(JdbcTemplate.class), 42).seed(DatasetSize.forBookings(bookings));
+        return context;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int requestItems;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemRequestMapper itemRequestMapper = new ItemRequestMapper();
+    private Booking booking;
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        booking = Booking.builder()
+                .id(1L)
+                .item(item(1L))
+                .booker(User.builder()
+                        .id(2L)
+                        .name("User 2")
+                        .email("user2@bench.ru")
+                        .build())
+                .startDate(now)
+                .endDate(now.plusDays(1))
+                .status("APPROVED")
+                .build();
+        List<Item> items = new ArrayList<>();
+        for (long i = 1; i <= requestItems; i++) {
+            items.add(item(i));
+        }
+        itemRequest = ItemRequest.builder()
+                .id(1L)
+                .userId(2L)
+                .description("Нужна дрель")
+                .items(items)
+                .created(now)
+                .build();
+    }
+
+    @Benchmark
+    public BookingDtoOutcoming bookingDto() {
+        return bookingMapper.bookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestDto itemRequestToDto() {
+        return itemRequestMapper.itemRequestToDto(itemRequest);
+    }
+
+    private static Item item(Long id) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель")
+                .ownerId(1L)
+                .requestId(1L)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerBookingListingBenchmark {
+    private static final int OWNER_BOOKINGS = 10_000;
+    private static final List<String> STATUSES = List.of("APPROVED", "APPROVED", "WAITING", "REJECTED");
+
+    @Param({"10", "1000", "10000"})
+    private int ownerItems;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDataset.start(100_000);
+        bookingService = context.getBean(BookingService.class);
+        seedOwner(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<BookingDtoOutcoming> getAllByOwner() {
+        return bookingService.getAllByOwner(ownerId, state, 0, 10);
+    }
+
+    private void seedOwner(JdbcTemplate jdbcTemplate) {
+        ownerId = nextId(jdbcTemplate, "users");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", ownerId, "Owner",
+                "owner@bench.ru");
+
+        long firstItem = nextId(jdbcTemplate, "items");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ownerItems; i++) {
+            rows.add(new Object[]{firstItem + i, "Item " + i, "Item " + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, available, owner_id) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+
+        long firstBooking = nextId(jdbcTemplate, "bookings");
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>();
+        for (int i = 0; i < OWNER_BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(365).plusHours(i % (24 * 730));
+            rows.add(new Object[]{firstBooking + i, firstItem + i % ownerItems, BenchmarkDataset.BOOKER_ID, ownerId,
+                    Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1 + i % 72)),
+                    STATUSES.get(i % STATUSES.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, item_id, booker_id, owner_id, start_date, end_date, "
+                + "owner_approval) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static long nextId(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+    }
+}
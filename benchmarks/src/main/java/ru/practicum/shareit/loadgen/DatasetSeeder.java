@@ -0,0 +1,134 @@
+package ru.practicum.shareit.loadgen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.storage.ItemTimeline;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class DatasetSeeder {
+    public static final List<String> NAMES = List.of("Дрель", "Отвертка", "Пила", "Лестница", "Палатка",
+            "Велосипед", "Проектор", "Гитара", "Самокат", "Фотоаппарат");
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final List<String> ADJECTIVES = List.of("Аккумуляторная", "Большая", "Новая", "Складная",
+            "Походная", "Профессиональная", "Детская", "Электрическая");
+    private static final List<String> STATUSES = List.of("APPROVED", "APPROVED", "APPROVED", "APPROVED",
+            "APPROVED", "APPROVED", "APPROVED", "WAITING", "WAITING", "REJECTED");
+    private static final List<String> TABLES = List.of("comments", "bookings", "items", "requests", "users");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long randomSeed;
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate, long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.randomSeed = randomSeed;
+    }
+
+    public void seed(DatasetSize size) {
+        Random random = new Random(randomSeed);
+        LocalDateTime now = LocalDateTime.now();
+        ZipfSampler owners = new ZipfSampler(size.getUsers(), size.getOwnerSkew());
+        ZipfSampler bookers = new ZipfSampler(size.getUsers(), size.getOwnerSkew());
+        ZipfSampler hotItems = new ZipfSampler(size.getItems(), size.getItemSkew());
+        long[] itemOwners = new long[size.getItems() + 1];
+        ItemTimeline[] timelines = new ItemTimeline[size.getItems() + 1];
+        long started = System.currentTimeMillis();
+
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        Batch rows = new Batch("INSERT INTO users (id, name, email) VALUES (?, ?, ?)");
+        for (int i = 1; i <= size.getUsers(); i++) {
+            rows.add(i, "User " + i, "user" + i + "@load.ru");
+        }
+        rows.flush();
+
+        rows = new Batch("INSERT INTO requests (id, user_id, description, created) VALUES (?, ?, ?, ?)");
+        for (int i = 1; i <= size.getRequests(); i++) {
+            rows.add(i, 1 + random.nextInt(size.getUsers()), "Нужна " + pick(NAMES, random).toLowerCase(),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+        }
+        rows.flush();
+
+        rows = new Batch("INSERT INTO items (id, name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 1; i <= size.getItems(); i++) {
+            String name = pick(NAMES, random);
+            itemOwners[i] = owners.next(random);
+            Integer request = size.getRequests() > 0 && random.nextInt(10) == 0
+                    ? 1 + random.nextInt(size.getRequests()) : null;
+            rows.add(i, name + " " + i, pick(ADJECTIVES, random) + " " + name.toLowerCase(),
+                    random.nextInt(10) != 0, itemOwners[i], request);
+        }
+        rows.flush();
+
+        rows = new Batch("INSERT INTO bookings (id, item_id, booker_id, owner_id, start_date, end_date, "
+                + "owner_approval) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 1; i <= size.getBookings(); i++) {
+            int item = hotItems.next(random);
+            long booker = bookers.next(random);
+            if (booker == itemOwners[item]) {
+                booker = booker % size.getUsers() + 1;
+            }
+            LocalDateTime start = now.minusDays(365).plusHours(random.nextInt(24 * 730));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            String status = pick(STATUSES, random);
+            if (timelines[item] == null) {
+                timelines[item] = new ItemTimeline();
+            }
+            if (!status.equals("REJECTED") && !timelines[item].add(start, end)) {
+                status = "REJECTED";
+            }
+            rows.add(i, item, booker, itemOwners[item], Timestamp.valueOf(start), Timestamp.valueOf(end), status);
+        }
+        rows.flush();
+
+        rows = new Batch("INSERT INTO comments (id, item_id, text, author_name, created) VALUES (?, ?, ?, ?, ?)");
+        for (int i = 1; i <= size.getComments(); i++) {
+            rows.add(i, hotItems.next(random), "Отличная вещь " + i, "User " + (1 + random.nextInt(size.getUsers())),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+        }
+        rows.flush();
+
+        for (String table : TABLES) {
+            Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Набор данных заполнен за {} мс: {}", System.currentTimeMillis() - started, size);
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadgen;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DatasetSize {
+    private int users;
+    private int items;
+    private int requests;
+    private int bookings;
+    private int comments;
+    private double ownerSkew;
+    private double itemSkew;
+
+    public static DatasetSize forBookings(int bookings) {
+        int users = Math.max(100, bookings / 100);
+        return DatasetSize.builder()
+                .users(users)
+                .items(Math.max(100, bookings / 10))
+                .requests(users)
+                .bookings(bookings)
+                .comments(bookings / 10)
+                .ownerSkew(1.1)
+                .itemSkew(1.0)
+                .build();
+    }
+}
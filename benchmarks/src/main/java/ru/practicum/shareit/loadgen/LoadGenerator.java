@@ -0,0 +1,198 @@
+package ru.practicum.shareit.loadgen;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LoadGenerator {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+    private static final String DEFAULT_MIX = "items=25,search=25,bookings=35,requests=15";
+
+    private final Map<String, String> options;
+    private final DatasetSize size;
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final ZipfSampler users;
+    private final HttpClient httpClient;
+    private final String gateway;
+    private long measuredSeconds;
+
+    public LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        DatasetSize defaults = DatasetSize.forBookings(intOption("bookings", 100_000));
+        this.size = DatasetSize.builder()
+                .users(intOption("users", defaults.getUsers()))
+                .items(intOption("items", defaults.getItems()))
+                .requests(intOption("requests", defaults.getRequests()))
+                .bookings(defaults.getBookings())
+                .comments(intOption("comments", defaults.getComments()))
+                .ownerSkew(Double.parseDouble(options.getOrDefault("owner-skew", "1.1")))
+                .itemSkew(Double.parseDouble(options.getOrDefault("item-skew", "1.0")))
+                .build();
+        for (String entry : options.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+            String[] pair = entry.split("=");
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+            histograms.put(pair[0].trim(), new LatencyHistogram());
+        }
+        this.users = new ZipfSampler(size.getUsers(), size.getOwnerSkew());
+        this.gateway = options.getOrDefault("gateway", "http://localhost:8080");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        LoadGenerator loadGenerator = new LoadGenerator(options);
+        if (options.containsKey("jdbc-url") && !options.containsKey("skip-seed")) {
+            loadGenerator.seed();
+        }
+        if (!options.containsKey("seed-only")) {
+            loadGenerator.replay();
+            loadGenerator.report(System.out);
+        }
+    }
+
+    public void seed() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(options.get("jdbc-url"),
+                options.getOrDefault("jdbc-user", "admin"), options.getOrDefault("jdbc-password", "admin"), true);
+        try {
+            new DatasetSeeder(new JdbcTemplate(dataSource), Long.parseLong(options.getOrDefault("random-seed", "42")))
+                    .seed(size);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    public void replay() throws InterruptedException {
+        int threads = intOption("threads", 16);
+        long warmup = TimeUnit.SECONDS.toNanos(intOption("warmup", 10));
+        long duration = TimeUnit.SECONDS.toNanos(intOption("duration", 60));
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(i);
+            executor.submit(() -> run(random, started + warmup, started + warmup + duration));
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmup + duration + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        measuredSeconds = TimeUnit.NANOSECONDS.toSeconds(duration);
+    }
+
+    public void report(PrintStream out) {
+        out.printf(Locale.ROOT, "%-10s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests",
+                "errors", "req/s", "mean,ms", "p50,ms", "p90,ms", "p99,ms", "p99.9,ms", "max,ms");
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.printf(Locale.ROOT, "%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), histogram.count(), histogram.errors(),
+                    (double) histogram.count() / measuredSeconds, histogram.mean() / 1000, histogram.percentile(50) / 1000.0, histogram.percentile(90) / 1000.0,
+                    histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0,
+                    histogram.percentile(100) / 1000.0);
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.printf("%n%s%n", entry.getKey());
+            long max = 1;
+            for (int i = 0; i < histogram.buckets(); i++) {
+                max = Math.max(max, histogram.bucketCount(i));
+            }
+            for (int i = 0; i < histogram.buckets(); i++) {
+                long count = histogram.bucketCount(i);
+                if (count > 0) {
+                    out.printf(Locale.ROOT, "  <= %9.2f ms %10d %s%n", histogram.upperBound(i) / 1000.0, count,
+                            "#".repeat((int) (50 * count / max)));
+                }
+            }
+        }
+    }
+
+    private void run(Random random, long measureFrom, long measureUntil) {
+        List<String> endpoints = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                endpoints.add(endpoint);
+            }
+        });
+        while (System.nanoTime() < measureUntil) {
+            String endpoint = endpoints.get(random.nextInt(endpoints.size()));
+            HttpRequest request = request(endpoint, random);
+            long started = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= measureUntil) {
+                histograms.get(endpoint).record(TimeUnit.NANOSECONDS.toMicros(finished - started), error);
+            }
+        }
+    }
+
+    private HttpRequest request(String endpoint, Random random) {
+        long userId = users.next(random);
+        String path;
+        switch (endpoint) {
+            case "items":
+                path = "/items?from=0&size=10";
+                break;
+            case "search":
+                String text = DatasetSeeder.NAMES.get(random.nextInt(DatasetSeeder.NAMES.size()));
+                if (random.nextInt(4) == 0) {
+                    text = text + " " + (1 + random.nextInt(size.getItems()));
+                }
+                path = "/items/search?from=0&size=10&text=" + URLEncoder.encode(text.toLowerCase(),
+                        StandardCharsets.UTF_8);
+                break;
+            case "bookings":
+                path = "/bookings?from=0&size=10&state=" + STATES.get(random.nextInt(STATES.size()));
+                break;
+            case "requests":
+                userId = 1 + random.nextInt(size.getUsers());
+                path = "/requests/all?from=0&size=10";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+        return HttpRequest.newBuilder(URI.create(gateway + path))
+                .header(USER_ID, String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalDto {
+
+    @NotNull(message = "Id бронирования не может быть пустым.")
+    private Long bookingId;
+
+    @NotNull(message = "Решение по бронированию не может быть пустым.")
+    private Boolean approved;
+}
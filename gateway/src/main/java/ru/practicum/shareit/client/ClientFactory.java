@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+@RequiredArgsConstructor
+public class ClientFactory {
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final WebClient.Builder webClientBuilder;
+    private final HttpClientProperties properties;
+    private final ResponseCache responseCache;
+
+    public ProxyMode mode() {
+        return properties.getMode();
+    }
+
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+
+    public RestTemplate restTemplate(String rootUri) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(rootUri))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    public WebClient webClient(String rootUri) {
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(rootUri))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    private ProxyMode mode = ProxyMode.BLOCKING;
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration keepAlive = Duration.ofSeconds(15);
+    private Duration idleTimeout = Duration.ofSeconds(15);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofSeconds(5);
+        private Duration maxStale = Duration.ofSeconds(60);
+        private long maxSize = 10_000;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ResponseCache implements MeterBinder {
+    private static final Pattern RESOURCE_ID = Pattern.compile("^/(\\d+)(?:[/?].*)?$");
+
+    private final String name;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<Key, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(String name, HttpClientProperties.Cache properties) {
+        this.name = name;
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        long revalidateNanos = ttlNanos + properties.getMaxStale().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.getEtag() != null ? revalidateNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics(cache, name, Tags.empty()).bindTo(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    @Nullable
+    public Entry lookup(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.getStoredAt() < ttlNanos;
+    }
+
+    public void store(Key key, ResponseEntity<Object> response, long observedGeneration) {
+        store(key, new Entry((byte[]) response.getBody(), response.getHeaders(), response.getHeaders().getETag(),
+                System.nanoTime()), observedGeneration);
+    }
+
+    public Entry refresh(Key key, Entry entry, long observedGeneration) {
+        Entry refreshed = new Entry(entry.getBody(), entry.getHeaders(), entry.getEtag(), System.nanoTime());
+        store(key, refreshed, observedGeneration);
+        return refreshed;
+    }
+
+    public void invalidate(String rootUri, String path) {
+        String resource = resourceOf(path);
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getRootUri().equals(rootUri)
+                && (resource == null || resourceOf(key.getPath()) == null || resource.equals(resourceOf(key.getPath()))));
+    }
+
+    private void store(Key key, Entry entry, long observedGeneration) {
+        cache.put(key, entry);
+        if (generation.get() != observedGeneration) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    @Nullable
+    private static String resourceOf(String path) {
+        Matcher matcher = RESOURCE_ID.matcher(path);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    @Value
+    public static class Key {
+        String rootUri;
+        String path;
+        Map<String, Object> parameters;
+        Long userId;
+    }
+
+    @Value
+    public static class Entry {
+        byte[] body;
+        HttpHeaders headers;
+        String etag;
+        long storedAt;
+
+        public ResponseEntity<Object> toResponse() {
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        }
+    }
+}
@@ -2,16 +2,19 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.constant.Constant.USER_ID;
 
@@ -25,43 +28,71 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto, @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemDto itemDto, @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /items для создания предмета");
         return itemClient.createItem(itemDto, userId);
     }
 
     @PatchMapping(value = "/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId, @RequestBody ItemDto itemDto,
-                                             @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable Long itemId, @RequestBody ItemDto itemDto,
+                                                   @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /items для обновления предмета по id {}", itemId);
         return itemClient.updateItem(itemId, itemDto, userId);
     }
 
     @GetMapping(value = "/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /items для получения предмета по id {}", itemId);
         return itemClient.getItem(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUser(@RequestHeader(USER_ID) Long userId,
-                                                 @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                 @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getItemsByUser(@RequestHeader(USER_ID) Long userId,
+                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                       @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос к эндпойнту /items для получения предметов пользователя по id {}", userId);
         return itemClient.getItemsByUser(userId, from, size);
     }
 
     @GetMapping(value = "/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader(USER_ID) Long userId, @RequestParam String text,
-                                              @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                              @Positive @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader(USER_ID) Long userId, @RequestParam String text,
+                                                    @RequestParam(required = false)
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime start,
+                                                    @RequestParam(required = false)
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime end,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                    @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос к эндпойнту /items для поиска предметов по запросу {}", text);
-        return itemClient.searchItems(text, userId, from, size);
+        if (start == null && end == null) {
+            return itemClient.searchItems(text, userId, from, size);
+        }
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Для поиска по периоду нужно указать его начало и конец");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала");
+        }
+        return itemClient.searchItems(text, start, end, userId, from, size);
+    }
+
+    @GetMapping(value = "/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Конец периода должен быть позже его начала");
+        }
+        log.info("Получен запрос к эндпойнту /items для получения свободных периодов предмета {}", itemId);
+        return itemClient.getAvailability(itemId, userId, from, to);
     }
 
     @PostMapping(value = "/{itemId}/comment")
-    public ResponseEntity<Object> postComment(@RequestHeader(USER_ID) Long userId, @PathVariable Long itemId,
-                                              @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> postComment(@RequestHeader(USER_ID) Long userId, @PathVariable Long itemId,
+                                                    @Valid @RequestBody CommentDto commentDto) {
         log.info("Получен запрос к эндпойнту /items для размещения комментария к предмету {}", itemId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
@@ -2,12 +2,11 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,24 +16,26 @@ public class RequestClient extends BaseClient {
     private static final String REQUEST_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + REQUEST_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, ClientFactory clientFactory) {
+        super(clientFactory, serverUrl + REQUEST_PREFIX);
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto request, Long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(ItemRequestDto request, Long userId) {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> getAllUserRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getAllUserRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(int from, int size, Long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequests(int from, int size, String cursor, Long userId) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +43,7 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequest(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 }
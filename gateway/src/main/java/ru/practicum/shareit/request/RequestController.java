@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -26,28 +27,29 @@ public class RequestController {
 
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@Valid @RequestBody ItemRequestDto request,
-                                                @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createRequest(@Valid @RequestBody ItemRequestDto request,
+                                                      @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /requests для создания реквеста");
         return requestClient.createItemRequest(request, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserRequests(@RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getAllUserRequests(@RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /requests для получения списка реквестов пользователя");
         return requestClient.getAllUserRequests(userId);
     }
 
     @GetMapping(value = "/all")
-    public ResponseEntity<Object> getAllRequests(@PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                 @Positive @RequestParam(defaultValue = "10") int size,
-                                                 @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequests(@PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                       @Positive @RequestParam(defaultValue = "10") int size,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /requests для получения списка всех реквестов");
-        return requestClient.getAllRequests(from, size, userId);
+        return requestClient.getAllRequests(from, size, cursor, userId);
     }
 
     @GetMapping(value = "/{requestId}")
-    public ResponseEntity<Object> getItemRequest(@PathVariable Long requestId, @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequest(@PathVariable Long requestId, @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /requests для получения реквеста по id {}", requestId);
         return requestClient.getItemRequest(requestId, userId);
     }
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+    private static final String ITEMS = "http://server:9090/items";
+    private static final String BOOKINGS = "http://server:9090/bookings";
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        HttpClientProperties.Cache properties = new HttpClientProperties.Cache();
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofMinutes(1));
+        cache = new ResponseCache("test", properties);
+    }
+
+    @Test
+    void invalidateEvictsResourceAndListingsOnlyTest() {
+        List<String> evicted = List.of("/1", "/1?approved={approved}", "/1/comment", "?from={from}&size={size}",
+                "/search?text={text}&from={from}&size={size}");
+        List<String> kept = List.of("/2", "/12", "/2?approved={approved}", "/21/comment");
+        for (String path : evicted) {
+            store(key(ITEMS, path), "evicted");
+        }
+        for (String path : kept) {
+            store(key(ITEMS, path), "kept");
+        }
+        store(key(BOOKINGS, "/1"), "other type");
+
+        cache.invalidate(ITEMS, "/1");
+
+        for (String path : evicted) {
+            assertNull(cache.lookup(key(ITEMS, path)), path);
+        }
+        for (String path : kept) {
+            assertNotNull(cache.lookup(key(ITEMS, path)), path);
+        }
+        assertNotNull(cache.lookup(key(BOOKINGS, "/1")));
+    }
+
+    @Test
+    void invalidateListingEvictsWholeTypeTest() {
+        store(key(ITEMS, "/1"), "item");
+        store(key(ITEMS, "?from={from}&size={size}"), "listing");
+        store(key(BOOKINGS, "/1"), "other type");
+
+        cache.invalidate(ITEMS, "");
+
+        assertNull(cache.lookup(key(ITEMS, "/1")));
+        assertNull(cache.lookup(key(ITEMS, "?from={from}&size={size}")));
+        assertNotNull(cache.lookup(key(BOOKINGS, "/1")));
+    }
+
+    @Test
+    void fetchStartedBeforeWriteIsNotStoredTest() {
+        ResponseCache.Key key = key(ITEMS, "/1");
+        long observed = cache.generation();
+
+        cache.invalidate(ITEMS, "/1");
+        cache.store(key, response("stale"), observed);
+
+        assertNull(cache.lookup(key));
+    }
+
+    @Test
+    void revalidationStartedBeforeWriteIsNotStoredTest() {
+        ResponseCache.Key key = key(ITEMS, "/1");
+        store(key, "cached");
+        ResponseCache.Entry cached = cache.lookup(key);
+        long observed = cache.generation();
+
+        cache.invalidate(ITEMS, "/2");
+        cache.refresh(key, cached, observed);
+
+        assertNull(cache.lookup(key));
+    }
+
+    @Test
+    void fetchAfterWriteIsStoredTest() {
+        ResponseCache.Key key = key(ITEMS, "/1");
+        cache.invalidate(ITEMS, "/1");
+
+        cache.store(key, response("fresh"), cache.generation());
+
+        assertArrayEquals(cache.lookup(key).getBody(), "fresh".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void store(ResponseCache.Key key, String body) {
+        cache.store(key, response(body), cache.generation());
+    }
+
+    private static ResponseCache.Key key(String rootUri, String path) {
+        return new ResponseCache.Key(rootUri, path, Map.of(), 1L);
+    }
+
+    private static ResponseEntity<Object> response(String body) {
+        return new ResponseEntity<>(body.getBytes(StandardCharsets.UTF_8), new HttpHeaders(), HttpStatus.OK);
+    }
+}
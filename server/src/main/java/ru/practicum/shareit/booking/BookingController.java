@@ -11,11 +11,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.shareit.constant.Constant.USER_ID;
 
@@ -38,6 +42,13 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestBody List<BookingDtoIncoming> bookingDtos,
+                                                   @RequestHeader(USER_ID) Long userId) {
+        log.info("Получен запрос к эндпойнту /bookings/batch для создания {} бронирований", bookingDtos.size());
+        return bookingService.createBookings(bookingDtos, userId);
+    }
+
     @PatchMapping(value = "/{bookingId}", params = "approved")
     public BookingDtoOutcoming changeStatusBooking(@RequestHeader(USER_ID) Long userId,
                                                    @PathVariable Long bookingId, @RequestParam String approved) {
@@ -45,9 +56,21 @@ public class BookingController {
         return bookingService.updateBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingBatchResult> changeStatusBookings(@RequestHeader(USER_ID) Long userId,
+                                                         @RequestBody List<BookingApprovalDto> approvals) {
+        log.info("Получен запрос к эндпойнту /bookings/batch для обновления {} бронирований", approvals.size());
+        return bookingService.updateBookings(userId, approvals);
+    }
+
     @GetMapping(value = "/{bookingId}")
-    public BookingDtoOutcoming getBookingById(@RequestHeader(USER_ID) Long userId, @PathVariable Long bookingId) {
+    public BookingDtoOutcoming getBookingById(@RequestHeader(USER_ID) Long userId, @PathVariable Long bookingId,
+                                              WebRequest request) {
         log.info("Получен запрос к эндпойнту /bookings для получение информации о бронировании {}", bookingId);
+        String eTag = bookingService.getBookingETag(bookingId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return bookingService.getBookingById(bookingId, userId);
     }
 
@@ -55,9 +78,13 @@ public class BookingController {
     public Collection<BookingDtoOutcoming> getUserBookings(@RequestHeader(USER_ID) Long userId,
                                                            @RequestParam(defaultValue = "ALL") String state,
                                                            @RequestParam(defaultValue = "0") int from,
-                                                           @RequestParam(defaultValue = "10") int size) {
+                                                           @RequestParam(defaultValue = "10") int size,
+                                                           @RequestParam(required = false) String cursor) {
         log.info("Получен запрос к эндпойнту /bookings для получение информации о бронированиях пользователя {}",
                 userId);
+        if (cursor != null) {
+            return bookingService.getAllByUserAfter(userId, state, cursor, size);
+        }
         return bookingService.getAllByUser(userId, state, from, size);
     }
 
@@ -65,9 +92,13 @@ public class BookingController {
     public Collection<BookingDtoOutcoming> getOwnerBookings(@RequestHeader(USER_ID) Long userId,
                                                             @RequestParam(defaultValue = "ALL") String state,
                                                             @RequestParam(defaultValue = "0") int from,
-                                                            @RequestParam(defaultValue = "10") int size) {
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(required = false) String cursor) {
         log.info("Получен запрос к эндпойнту /bookings для получение информации о бронированиях вещей пользователя {}",
                 userId);
+        if (cursor != null) {
+            return bookingService.getAllByOwnerAfter(userId, state, cursor, size);
+        }
         return bookingService.getAllByOwner(userId, state, from, size);
     }
 }
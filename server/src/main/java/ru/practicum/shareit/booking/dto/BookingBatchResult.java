@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingBatchResult {
+
+    int status;
+    BookingDtoOutcoming booking;
+    String error;
+}
@@ -15,6 +15,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 
@@ -37,6 +38,9 @@ public class Booking {
     @JoinColumn(name = "booker_id")
     User booker;
 
+    @Column(name = "owner_id", updatable = false)
+    Long ownerId;
+
     @Column(name = "start_date")
     LocalDateTime startDate;
 
@@ -45,4 +49,7 @@ public class Booking {
 
     @Column(name = "owner_approval")
     String status;
+
+    @Version
+    long version;
 }
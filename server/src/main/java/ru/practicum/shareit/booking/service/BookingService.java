@@ -1,19 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDtoOutcoming createBooking(BookingDtoIncoming bookingDto, Long userId);
 
+    List<BookingBatchResult> createBookings(List<BookingDtoIncoming> bookingDtos, Long userId);
+
     BookingDtoOutcoming updateBooking(Long userId, Long bookingId, String available);
 
+    List<BookingBatchResult> updateBookings(Long userId, List<BookingApprovalDto> approvals);
+
     BookingDtoOutcoming getBookingById(Long bookingId, Long userId);
 
+    String getBookingETag(Long bookingId, Long userId);
+
     Collection<BookingDtoOutcoming> getAllByUser(Long userId, String state, int from, int size);
 
     Collection<BookingDtoOutcoming> getAllByOwner(Long userId, String state, int from, int size);
 
+    Collection<BookingDtoOutcoming> getAllByUserAfter(Long userId, String state, String cursor, int size);
+
+    Collection<BookingDtoOutcoming> getAllByOwnerAfter(Long userId, String state, String cursor, int size);
+
 }
@@ -1,87 +1,276 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.ItemTimeline;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.validator.Validator;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    private static final String OVERLAP = "Предмет уже забронирован на это время";
+    private static final int APPROVAL_ATTEMPTS = 3;
+
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ValidatorCache validatorCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemLockRegistry itemLockRegistry;
 
     @Autowired
     public BookingServiceImpl(UserRepository userRepository, BookingRepository bookingRepository,
-                              ItemRepository itemRepository, BookingMapper bookingMapper) {
+                              ItemRepository itemRepository, BookingMapper bookingMapper,
+                              ValidatorCache validatorCache, BookingIntervalIndex bookingIntervalIndex,
+                              ItemLockRegistry itemLockRegistry) {
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
         this.bookingMapper = bookingMapper;
+        this.validatorCache = validatorCache;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.itemLockRegistry = itemLockRegistry;
     }
 
     @Override
     public BookingDtoOutcoming createBooking(BookingDtoIncoming bookingDto, Long userId) {
         User currentUser = Validator.validateUserAndReturn(userRepository, userId);
-        Item item = Validator.validateItemAndReturn(itemRepository, bookingDto.getItemId());
+        Item item = Validator.validateItemAndReturn(validatorCache, bookingDto.getItemId());
         Validator.bookingValidation(bookingDto, item, userId);
         Booking booking = Booking.builder()
                 .status("WAITING")
                 .booker(currentUser)
                 .item(item)
+                .ownerId(item.getOwnerId())
                 .endDate(bookingDto.getEnd())
                 .startDate(bookingDto.getStart())
                 .build();
         booking.getBooker().setId(userId);
-        return bookingMapper.bookingDto(bookingRepository.save(booking));
+        try (ItemLockRegistry.Lease ignored = itemLockRegistry.lock(bookingDto.getItemId())) {
+            reserve(bookingDto);
+            return bookingMapper.bookingDto(bookingRepository.save(booking));
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidRequestException(OVERLAP);
+        }
+    }
+
+    @Override
+    public List<BookingBatchResult> createBookings(List<BookingDtoIncoming> bookingDtos, Long userId) {
+        User currentUser = Validator.validateUserAndReturn(userRepository, userId);
+        Map<Long, Item> items = itemRepository.findAllById(bookingDtos.stream()
+                        .map(BookingDtoIncoming::getItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Map<Long, ItemTimeline> accepted = new HashMap<>();
+        List<Booking> rejected;
+        try (ItemLockRegistry.Lease ignored = itemLockRegistry.lock(items.keySet())) {
+            for (int i = 0; i < bookingDtos.size(); i++) {
+                BookingDtoIncoming bookingDto = bookingDtos.get(i);
+                try {
+                    Item item = items.get(bookingDto.getItemId());
+                    if (item == null) {
+                        throw new ObjectNotFoundException("Данный предмет не существет");
+                    }
+                    Validator.bookingValidation(bookingDto, item, userId);
+                    ItemTimeline batch = accepted.computeIfAbsent(item.getId(), id -> new ItemTimeline());
+                    if (batch.overlaps(bookingDto.getStart(), bookingDto.getEnd())) {
+                        throw new InvalidRequestException(OVERLAP);
+                    }
+                    reserve(bookingDto);
+                    batch.add(bookingDto.getStart(), bookingDto.getEnd());
+                    bookings.add(Booking.builder()
+                            .status("WAITING")
+                            .booker(currentUser)
+                            .item(item)
+                            .ownerId(item.getOwnerId())
+                            .endDate(bookingDto.getEnd())
+                            .startDate(bookingDto.getStart())
+                            .build());
+                    positions.add(i);
+                } catch (ObjectNotFoundException e) {
+                    results[i] = failed(HttpStatus.NOT_FOUND, e);
+                } catch (InvalidRequestException e) {
+                    results[i] = failed(HttpStatus.BAD_REQUEST, e);
+                }
+            }
+            rejected = bookingRepository.insertAll(bookings);
+        }
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            if (rejected.contains(booking)) {
+                bookingIntervalIndex.releaseAfterCommit(booking.getItem().getId(), booking.getStartDate(),
+                        booking.getEndDate());
+                results[positions.get(i)] = failed(HttpStatus.BAD_REQUEST, new InvalidRequestException(OVERLAP));
+            } else {
+                results[positions.get(i)] = succeeded(booking);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void reserve(BookingDtoIncoming bookingDto) {
+        if (!bookingIntervalIndex.reserve(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new InvalidRequestException(OVERLAP);
+        }
     }
 
     @Override
     public BookingDtoOutcoming updateBooking(Long userId, Long bookingId, String available) {
-        Validator.validateUser(userRepository, userId);
+        Validator.validateUser(validatorCache, userId);
         Booking booking = Validator.validateBookingAndReturn(bookingRepository, bookingId);
-        Item item = Validator.validateItemAndReturn(itemRepository, booking.getItem().getId());
-        if (!Objects.equals(item.getOwnerId(), userId)) {
+        return bookingMapper.bookingDto(approve(booking, userId, Objects.equals(available, "true")));
+    }
+
+    @Override
+    public List<BookingBatchResult> updateBookings(Long userId, List<BookingApprovalDto> approvals) {
+        Validator.validateUser(validatorCache, userId);
+        Map<Long, Booking> bookings = bookingRepository.findByIdIn(approvals.stream()
+                        .map(BookingApprovalDto::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        BookingBatchResult[] results = new BookingBatchResult[approvals.size()];
+        List<Booking> pending = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<Long> queued = new HashSet<>();
+        for (int i = 0; i < approvals.size(); i++) {
+            BookingApprovalDto approval = approvals.get(i);
+            try {
+                Booking booking = bookings.get(approval.getBookingId());
+                if (booking == null) {
+                    throw new ObjectNotFoundException("Данное бронирование не существет");
+                }
+                checkWaiting(booking, userId);
+                if (!queued.add(booking.getId())) {
+                    throw new InvalidRequestException("Бронирование уже обработано");
+                }
+                pending.add(booking);
+                statuses.add(Boolean.TRUE.equals(approval.getApproved()) ? "APPROVED" : "REJECTED");
+                positions.add(i);
+            } catch (ObjectNotFoundException e) {
+                results[i] = failed(HttpStatus.NOT_FOUND, e);
+            } catch (InvalidRequestException e) {
+                results[i] = failed(HttpStatus.BAD_REQUEST, e);
+            }
+        }
+        int[] updated = bookingRepository.updateStatusesIfWaiting(pending, statuses);
+        for (int i = 0; i < pending.size(); i++) {
+            Booking booking = pending.get(i);
+            boolean approved = Objects.equals(statuses.get(i), "APPROVED");
+            try {
+                results[positions.get(i)] = succeeded(updated[i] == 1 ? decided(booking, approved)
+                        : approve(booking, userId, approved));
+            } catch (ObjectNotFoundException e) {
+                results[positions.get(i)] = failed(HttpStatus.NOT_FOUND, e);
+            } catch (InvalidRequestException e) {
+                results[positions.get(i)] = failed(HttpStatus.BAD_REQUEST, e);
+            } catch (ConflictException e) {
+                results[positions.get(i)] = failed(HttpStatus.CONFLICT, e);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Booking approve(Booking booking, Long userId, boolean approved) {
+        String status = approved ? "APPROVED" : "REJECTED";
+        for (int attempt = 1; ; attempt++) {
+            checkWaiting(booking, userId);
+            if (bookingRepository.updateStatusIfWaiting(booking.getId(), booking.getVersion(), status) == 1) {
+                return decided(booking, approved);
+            }
+            if (attempt == APPROVAL_ATTEMPTS) {
+                throw new ConflictException("Бронирование одновременно изменяется другим запросом");
+            }
+            booking = Validator.validateBookingAndReturn(bookingRepository, booking.getId());
+        }
+    }
+
+    private static void checkWaiting(Booking booking, Long userId) {
+        if (!Objects.equals(booking.getItem().getOwnerId(), userId)) {
             throw new ObjectNotFoundException("У данного пользователя нет доступа к редактированию бронирования");
         }
         if (!Objects.equals(booking.getStatus(), "WAITING")) {
             throw new InvalidRequestException("Бронирование уже обработано");
         }
-        if (Objects.equals(available, "true")) {
-            booking.setStatus("APPROVED");
-        } else {
-            booking.setStatus("REJECTED");
+    }
+
+    private Booking decided(Booking booking, boolean approved) {
+        if (!approved) {
+            bookingIntervalIndex.releaseAfterCommit(booking.getItem().getId(), booking.getStartDate(),
+                    booking.getEndDate());
         }
-        return bookingMapper.bookingDto(bookingRepository.save(booking));
+        return Booking.builder()
+                .id(booking.getId())
+                .item(booking.getItem())
+                .booker(booking.getBooker())
+                .ownerId(booking.getOwnerId())
+                .startDate(booking.getStartDate())
+                .endDate(booking.getEndDate())
+                .status(approved ? "APPROVED" : "REJECTED")
+                .version(booking.getVersion() + 1)
+                .build();
+    }
+
+    private BookingBatchResult succeeded(Booking booking) {
+        return BookingBatchResult.builder()
+                .status(HttpStatus.OK.value())
+                .booking(bookingMapper.bookingDto(booking))
+                .build();
+    }
+
+    private static BookingBatchResult failed(HttpStatus status, RuntimeException e) {
+        return BookingBatchResult.builder()
+                .status(status.value())
+                .error(e.getMessage())
+                .build();
     }
 
     @Override
     public BookingDtoOutcoming getBookingById(Long bookingId, Long userId) {
-        Validator.validateUser(userRepository, userId);
+        Validator.validateUser(validatorCache, userId);
         Booking booking = Validator.validateBookingAndReturn(bookingRepository, bookingId);
-        Item item = Validator.validateItemAndReturn(itemRepository, booking.getItem().getId());
+        Item item = booking.getItem();
         if (!Objects.equals(item.getOwnerId(), userId) && !Objects.equals(booking.getBooker().getId(), userId)) {
             throw new ObjectNotFoundException("У данного пользователя нет доступа к бронированию");
         }
@@ -89,73 +278,46 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDtoOutcoming> getAllByUser(Long userId, String state, int from, int size) {
-        Validator.validateUser(userRepository, userId);
-        LocalDateTime currentTime = LocalDateTime.now();
-        int page = from / size;
-        Pageable pageable = PageRequest.of(page, size);
-        try {
-            switch (State.valueOf(state)) {
-                case ALL:
-                    return bookingRepository.findByBookerIdOrderByStartDate(userId, pageable).stream()
-                            .map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(userId,
-                                    currentTime, currentTime, pageable).stream().map(bookingMapper::bookingDto)
-                            .collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository.findByBookerIdAndEndDateBeforeOrderByStartDateDesc(userId, currentTime,
-                            pageable).stream().map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository.findByBookerIdAndStartDateAfterOrderByStartDateDesc(userId, currentTime,
-                            pageable).stream().map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case WAITING:
-                    return bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDateDesc(userId, "WAITING",
-                            pageable).stream().map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDateDesc(userId, "REJECTED",
-                            pageable).stream().map(bookingMapper::bookingDto).collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            throw new InvalidRequestException("Unknown state");
-        }
+    public String getBookingETag(Long bookingId, Long userId) {
+        String tag = bookingRepository.findETag(bookingId, userId);
+        return tag != null ? "booking-" + bookingId + "-" + tag : null;
+    }
 
-        return List.of();
+    @Override
+    public Collection<BookingDtoOutcoming> getAllByUser(Long userId, String state, int from, int size) {
+        Validator.validateUser(validatorCache, userId);
+        return findByState(BookingRole.BOOKER, userId, state, null, PageRequest.of(from / size, size));
     }
 
     @Override
     public Collection<BookingDtoOutcoming> getAllByOwner(Long userId, String state, int from, int size) {
-        Validator.validateUser(userRepository, userId);
-        LocalDateTime currentTime = LocalDateTime.now();
-        int page = from / size;
-        Pageable pageable = PageRequest.of(page, size);
+        Validator.validateUser(validatorCache, userId);
+        return findByState(BookingRole.OWNER, userId, state, null, PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public Collection<BookingDtoOutcoming> getAllByUserAfter(Long userId, String state, String cursor, int size) {
+        Validator.validateUser(validatorCache, userId);
+        return findByState(BookingRole.BOOKER, userId, state, Cursor.from(cursor), PageRequest.of(0, size));
+    }
+
+    @Override
+    public Collection<BookingDtoOutcoming> getAllByOwnerAfter(Long userId, String state, String cursor, int size) {
+        Validator.validateUser(validatorCache, userId);
+        return findByState(BookingRole.OWNER, userId, state, Cursor.from(cursor), PageRequest.of(0, size));
+    }
+
+    private Collection<BookingDtoOutcoming> findByState(BookingRole role, Long userId, String state,
+                                                        Cursor after, Pageable pageable) {
+        State bookingState;
         try {
-            switch (State.valueOf(state)) {
-                case ALL:
-                    return bookingRepository.findByOwnerId(userId, pageable).stream().map(bookingMapper::bookingDto)
-                            .collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository.findByOwnerIdCurrent(userId, currentTime, currentTime, pageable).stream()
-                            .map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository.findByOwnerIdPast(userId, currentTime, pageable).stream()
-                            .map(bookingMapper::bookingDto)
-                            .collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository.findByOwnerIdFuture(userId, currentTime, pageable).stream()
-                            .map(bookingMapper::bookingDto)
-                            .collect(Collectors.toList());
-                case WAITING:
-                    return bookingRepository.findByOwnerIdStatus(userId, "WAITING", pageable).stream()
-                            .map(bookingMapper::bookingDto).collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository.findByOwnerIdStatus(userId, "REJECTED", pageable).stream()
-                            .map(bookingMapper::bookingDto).collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            throw new InvalidRequestException("Unknown status");
+            bookingState = State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown state");
         }
-
-        return List.of();
+        return bookingRepository.findByState(role, userId, bookingState, LocalDateTime.now(), after, pageable)
+                .stream()
+                .map(bookingMapper::bookingDto)
+                .collect(Collectors.toList());
     }
 }
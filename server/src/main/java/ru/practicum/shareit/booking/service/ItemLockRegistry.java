@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLockRegistry implements MeterBinder {
+    private final ReentrantLock[] stripes;
+    private final LongAdder[] acquired;
+    private final LongAdder[] contended;
+    private final LongAdder[] waitNanos;
+
+    @Autowired
+    public ItemLockRegistry(@Value("${shareit.booking.lock.stripes:64}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Количество блокировок должно быть положительным: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        this.acquired = new LongAdder[stripes];
+        this.contended = new LongAdder[stripes];
+        this.waitNanos = new LongAdder[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+            this.acquired[i] = new LongAdder();
+            this.contended[i] = new LongAdder();
+            this.waitNanos[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < stripes.length; i++) {
+            String stripe = String.valueOf(i);
+            FunctionCounter.builder("booking.item.lock.acquired", acquired[i], LongAdder::sum)
+                    .description("Acquisitions of a booking item lock stripe")
+                    .tag("stripe", stripe)
+                    .register(registry);
+            FunctionCounter.builder("booking.item.lock.contended", contended[i], LongAdder::sum)
+                    .description("Acquisitions that had to wait for another booking on the same stripe")
+                    .tag("stripe", stripe)
+                    .register(registry);
+            FunctionCounter.builder("booking.item.lock.wait", waitNanos[i],
+                            adder -> adder.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .description("Time spent waiting for a booking item lock stripe")
+                    .baseUnit("seconds")
+                    .tag("stripe", stripe)
+                    .register(registry);
+            Gauge.builder("booking.item.lock.queued", stripes[i], ReentrantLock::getQueueLength)
+                    .description("Threads waiting for a booking item lock stripe")
+                    .tag("stripe", stripe)
+                    .register(registry);
+        }
+    }
+
+    public int stripeOf(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), stripes.length);
+    }
+
+    public Lease lock(Long itemId) {
+        return lock(Collections.singletonList(itemId));
+    }
+
+    public Lease lock(Collection<Long> itemIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long itemId : itemIds) {
+            if (itemId != null) {
+                indexes.add(stripeOf(itemId));
+            }
+        }
+        for (Integer index : indexes) {
+            acquire(index);
+        }
+        return new Lease(indexes);
+    }
+
+    private void acquire(int index) {
+        ReentrantLock lock = stripes[index];
+        acquired[index].increment();
+        if (lock.tryLock()) {
+            return;
+        }
+        contended[index].increment();
+        long started = System.nanoTime();
+        lock.lock();
+        waitNanos[index].add(System.nanoTime() - started);
+    }
+
+    public class Lease implements AutoCloseable {
+        private final TreeSet<Integer> indexes;
+
+        private Lease(TreeSet<Integer> indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public void close() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                unlock();
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unlock();
+                }
+            });
+        }
+
+        private void unlock() {
+            for (Integer index : indexes.descendingSet()) {
+                stripes[index].unlock();
+            }
+        }
+    }
+}
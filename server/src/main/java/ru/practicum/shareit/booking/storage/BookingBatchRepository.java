@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.storage;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+    List<Booking> insertAll(List<Booking> bookings);
+
+    int[] updateStatusesIfWaiting(List<Booking> bookings, List<String> statuses);
+}
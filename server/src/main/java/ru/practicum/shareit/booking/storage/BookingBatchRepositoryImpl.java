@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String INSERT = "INSERT INTO bookings (item_id, booker_id, owner_id, start_date, end_date, "
+            + "owner_approval) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_IF_WAITING = "UPDATE bookings SET owner_approval = ?, version = version + 1 "
+            + "WHERE id = ? AND version = ? AND owner_approval = 'WAITING'";
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Booking> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Booking>>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                List<Booking> rejected = insert(connection, bookings);
+                if (autoCommit) {
+                    connection.commit();
+                }
+                return rejected;
+            } catch (SQLException | RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        });
+    }
+
+    @Override
+    public int[] updateStatusesIfWaiting(List<Booking> bookings, List<String> statuses) {
+        if (bookings.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_IF_WAITING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setString(1, statuses.get(i));
+                statement.setLong(2, bookings.get(i).getId());
+                statement.setLong(3, bookings.get(i).getVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return bookings.size();
+            }
+        });
+    }
+
+    private static List<Booking> insert(Connection connection, List<Booking> bookings) throws SQLException {
+        Savepoint batch = connection.setSavepoint();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+            for (Booking booking : bookings) {
+                bind(statement, booking);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (Booking booking : bookings) {
+                    keys.next();
+                    booking.setId(keys.getLong(1));
+                }
+            }
+            connection.releaseSavepoint(batch);
+            return List.of();
+        } catch (SQLException e) {
+            if (!isIntegrityViolation(e)) {
+                throw e;
+            }
+            connection.rollback(batch);
+        }
+        List<Booking> rejected = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+            for (Booking booking : bookings) {
+                Savepoint row = connection.setSavepoint();
+                try {
+                    bind(statement, booking);
+                    statement.executeUpdate();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        booking.setId(keys.getLong(1));
+                    }
+                    connection.releaseSavepoint(row);
+                } catch (SQLException e) {
+                    if (!isIntegrityViolation(e)) {
+                        throw e;
+                    }
+                    connection.rollback(row);
+                    booking.setId(null);
+                    rejected.add(booking);
+                }
+            }
+        }
+        return rejected;
+    }
+
+    private static void bind(PreparedStatement statement, Booking booking) throws SQLException {
+        statement.setLong(1, booking.getItem().getId());
+        statement.setLong(2, booking.getBooker().getId());
+        statement.setLong(3, booking.getOwnerId());
+        statement.setTimestamp(4, Timestamp.valueOf(booking.getStartDate()));
+        statement.setTimestamp(5, Timestamp.valueOf(booking.getEndDate()));
+        statement.setString(6, booking.getStatus());
+    }
+
+    private static boolean isIntegrityViolation(SQLException e) {
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            if (cause.getSQLState() != null && cause.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BookingIntervalIndex implements MeterBinder {
+    private static final ItemTimeline UNINDEXED = new ItemTimeline();
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemTimeline> timelines;
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.timeline.max-items:10000}") long maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics(timelines, "bookingTimelines", Tags.empty()).bindTo(registry);
+    }
+
+    public boolean reserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemTimeline timeline = timelines.get(itemId, this::load);
+        if (timeline == UNINDEXED) {
+            return !bookingRepository.existsActiveOverlap(itemId, start, end);
+        }
+        synchronized (timeline) {
+            if (!timeline.add(start, end)) {
+                return false;
+            }
+        }
+        afterCompletion(committed -> {
+            if (!committed) {
+                remove(itemId, start, end);
+            }
+        });
+        return true;
+    }
+
+    public List<FreeIntervalDto> freeIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemTimeline timeline = timelines.getIfPresent(itemId);
+        if (timeline == null || timeline == UNINDEXED) {
+            return ItemTimeline.free(bookingRepository.findActivePeriodsBetween(itemId, from, to).stream()
+                    .map(period -> Map.entry(period.getStartDate(), period.getEndDate()))
+                    .collect(Collectors.toList()), from, to);
+        }
+        synchronized (timeline) {
+            return timeline.free(from, to);
+        }
+    }
+
+    public Set<Long> busyItems(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        Set<Long> busy = new HashSet<>();
+        List<Long> cold = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemTimeline timeline = timelines.getIfPresent(itemId);
+            if (timeline == null || timeline == UNINDEXED) {
+                cold.add(itemId);
+                continue;
+            }
+            synchronized (timeline) {
+                if (timeline.overlaps(start, end)) {
+                    busy.add(itemId);
+                }
+            }
+        }
+        if (!cold.isEmpty()) {
+            busy.addAll(bookingRepository.findItemIdsWithActiveOverlap(cold, start, end));
+        }
+        return busy;
+    }
+
+    public void releaseAfterCommit(Long itemId, LocalDateTime start, LocalDateTime end) {
+        afterCompletion(committed -> {
+            if (committed) {
+                remove(itemId, start, end);
+            }
+        });
+    }
+
+    public void clearAfterCommit() {
+        afterCompletion(committed -> {
+            if (committed) {
+                timelines.invalidateAll();
+            }
+        });
+    }
+
+    private void remove(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemTimeline timeline = timelines.getIfPresent(itemId);
+        if (timeline == null) {
+            return;
+        }
+        synchronized (timeline) {
+            timeline.remove(start, end);
+        }
+    }
+
+    private ItemTimeline load(Long itemId) {
+        ItemTimeline timeline = new ItemTimeline();
+        for (BookingPeriodView period : bookingRepository.findActivePeriods(itemId)) {
+            if (!timeline.add(period.getStartDate(), period.getEndDate())) {
+                log.warn("Бронирования предмета {} пересекаются, проверка пересечений выполняется в базе", itemId);
+                return UNINDEXED;
+            }
+        }
+        return timeline;
+    }
+
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    callback.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            callback.accept(true);
+        }
+    }
+}
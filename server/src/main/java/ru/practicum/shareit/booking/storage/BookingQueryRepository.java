@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+public interface BookingQueryRepository {
+    Slice<Booking> findByState(BookingRole role, Long userId, State state, LocalDateTime current,
+                               @Nullable Cursor after, Pageable pageable);
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private final EntityManager entityManager;
+
+    public BookingQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<Booking> findByState(BookingRole role, Long userId, State state, LocalDateTime current,
+                                      Cursor after, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<LocalDateTime> start = booking.get("startDate");
+        Path<LocalDateTime> end = booking.get("endDate");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (role == BookingRole.OWNER) {
+            where.add(builder.equal(booking.get("ownerId"), userId));
+        } else {
+            where.add(builder.equal(booking.get("booker").get("id"), userId));
+        }
+        switch (state) {
+            case CURRENT:
+                where.add(builder.lessThan(start, current));
+                where.add(builder.greaterThan(end, current));
+                break;
+            case PAST:
+                where.add(builder.lessThan(end, current));
+                break;
+            case FUTURE:
+                where.add(builder.greaterThan(start, current));
+                break;
+            case WAITING:
+            case REJECTED:
+                where.add(builder.equal(booking.get("status"), state.name()));
+                break;
+            default:
+                break;
+        }
+        if (after != null) {
+            where.add(builder.or(builder.lessThan(start, after.getTime()),
+                    builder.and(builder.equal(start, after.getTime()), builder.lessThan(id, after.getId()))));
+        }
+        query.select(id)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(builder.desc(start), builder.desc(id));
+
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(findAllByIds(ids), pageable, hasNext);
+    }
+
+    private List<Booking> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        booking.fetch("item");
+        booking.fetch("booker");
+        query.select(booking)
+                .where(booking.get("id").in(ids))
+                .orderBy(builder.desc(booking.get("startDate")), builder.desc(booking.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,59 +1,61 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collection;
-
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query(value = "select b.* from bookings as b where b.booker_id = ?1 order " +
-            "by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByBookerIdOrderByStartDate(Long userId, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Long userId,
-                                                                                      LocalDateTime current,
-                                                                                      LocalDateTime currentAnother,
-                                                                                      Pageable pageable);
-
-    Page<Booking> findByBookerIdAndEndDateBeforeOrderByStartDateDesc(Long userId, LocalDateTime current,
-                                                                     Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartDateAfterOrderByStartDateDesc(Long userId, LocalDateTime current,
-                                                                      Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDateDesc(Long userId, String status, Pageable pageable);
-
-    @Query(value = "select b.* from items as it join bookings as b on b.item_id = it.id where it.owner_id = ?1 order " +
-            "by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByOwnerId(Long userId, Pageable pageable);
-
-    @Query(value = "select distinct b.* from items as it join bookings as b on b.item_id = it.id where " +
-            "it.owner_id = ?1 and b.start_date < ?2 and b.end_date > ?3 order by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByOwnerIdCurrent(Long userId, LocalDateTime current, LocalDateTime currentAnother,
-                                       Pageable pageable);
-
-    @Query(value = "select distinct b.* from items as it join bookings as b on b.item_id = it.id where it.owner_id = ?1 and " +
-            "b.end_date < ?2 order by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByOwnerIdPast(Long userId, LocalDateTime current, Pageable pageable);
-
-    @Query(value = "select distinct b.* from items as it join bookings as b on b.item_id = it.id where it.owner_id = ?1 and " +
-            "b.start_date > ?2 order by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByOwnerIdFuture(Long userId, LocalDateTime current, Pageable pageable);
-
-    @Query(value = "select b.* from items as it LEFT JOIN  bookings as b on b.item_id = it.id where " +
-            "it.owner_id = ?1 and b.owner_approval = ?2 order by b.start_date desc", nativeQuery = true)
-    Page<Booking> findByOwnerIdStatus(Long userId, String status, Pageable pageable);
-
-    Booking findTopByItemIdAndStartDateBeforeAndStatusOrderByEndDateDesc(Long itemId, LocalDateTime current,
-                                                                         String status);
-
-    Booking findTopByItemIdAndStartDateAfterAndStatusOrderByStartDateAsc(Long itemId, LocalDateTime current,
-                                                                         String status);
-
+import java.util.List;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository,
+        BookingBatchRepository {
+    @Query("select b from Booking b join fetch b.item join fetch b.booker where b.id in ?1")
+    List<Booking> findByIdIn(Collection<Long> ids);
+
+    @Query("select b.startDate as startDate, b.endDate as endDate from Booking b " +
+            "where b.item.id = ?1 and b.status in ('WAITING', 'APPROVED')")
+    List<BookingPeriodView> findActivePeriods(Long itemId);
+
+    @Query("select b.startDate as startDate, b.endDate as endDate from Booking b " +
+            "where b.item.id = ?1 and b.status in ('WAITING', 'APPROVED') and b.endDate > ?2 and b.startDate < ?3 " +
+            "order by b.startDate")
+    List<BookingPeriodView> findActivePeriodsBetween(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 and b.status in ('WAITING', 'APPROVED') and b.endDate > ?2 and b.startDate < ?3")
+    boolean existsActiveOverlap(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.item.id in ?1 and b.status in ('WAITING', 'APPROVED') and b.endDate > ?2 and b.startDate < ?3")
+    List<Long> findItemIdsWithActiveOverlap(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query(value = "select t.item_id as itemId, t.id as id, t.booker_id as bookerId, t.kind as kind from (" +
+            "select b.item_id, b.id, b.booker_id, " +
+            "case when b.start_date < ?2 then 'LAST' else 'NEXT' end as kind, " +
+            "row_number() over (partition by b.item_id, case when b.start_date < ?2 then 0 else 1 end " +
+            "order by case when b.start_date < ?2 then b.end_date end desc, b.start_date asc) as rn " +
+            "from bookings as b where b.item_id in ?1 and b.owner_approval = ?3 and b.start_date <> ?2) as t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextByItemIds(Collection<Long> itemIds, LocalDateTime current, String status);
+
+    @Query("select b from Booking b where b.item.id = ?1 and b.booker.id = ?2 and b.endDate < ?3 " +
+            "order by b.startDate desc")
     Collection<Booking> findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(Long itemId, Long bookerId,
                                                                                     LocalDateTime current);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.version = ?2 and b.status = 'WAITING'")
+    int updateStatusIfWaiting(Long bookingId, long version, String status);
+
+    @Query(value = "select concat(b.version, '-', it.version, '-', u.version) from bookings as b " +
+            "join items as it on it.id = b.item_id join users as u on u.id = b.booker_id " +
+            "where b.id = ?1 and (b.owner_id = ?2 or b.booker_id = ?2)", nativeQuery = true)
+    String findETag(Long bookingId, Long userId);
 }
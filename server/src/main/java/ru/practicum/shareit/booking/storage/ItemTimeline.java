@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.storage;
+
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ItemTimeline {
+    private final TreeMap<LocalDateTime, LocalDateTime> periods = new TreeMap<>();
+
+    public int size() {
+        return periods.size();
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = periods.lowerEntry(end);
+        return previous != null && previous.getValue().isAfter(start);
+    }
+
+    public boolean add(LocalDateTime start, LocalDateTime end) {
+        if (overlaps(start, end)) {
+            return false;
+        }
+        periods.put(start, end);
+        return true;
+    }
+
+    public void remove(LocalDateTime start, LocalDateTime end) {
+        periods.remove(start, end);
+    }
+
+    public List<FreeIntervalDto> free(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime first = periods.lowerKey(from);
+        return free(periods.subMap(first != null ? first : from, true, to, false).entrySet(), from, to);
+    }
+
+    public static List<FreeIntervalDto> free(Iterable<Map.Entry<LocalDateTime, LocalDateTime>> sortedPeriods,
+                                             LocalDateTime from, LocalDateTime to) {
+        List<FreeIntervalDto> response = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (Map.Entry<LocalDateTime, LocalDateTime> period : sortedPeriods) {
+            if (period.getKey().isAfter(cursor)) {
+                response.add(new FreeIntervalDto(cursor, period.getKey()));
+            }
+            if (period.getValue().isAfter(cursor)) {
+                cursor = period.getValue();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            response.add(new FreeIntervalDto(cursor, to));
+        }
+        return response;
+    }
+}
@@ -2,13 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.shareit.constant.Constant.USER_ID;
 
@@ -40,27 +45,53 @@ public class ItemController {
     }
 
     @GetMapping(value = "/{itemId}")
-    public ItemDto getItem(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId) {
+    public ItemDto getItem(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId, WebRequest request) {
         log.info("Получен запрос к эндпойнту /items для получения предмета по id {}", itemId);
+        String eTag = itemService.getItemETag(itemId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemService.getItem(itemId, userId);
     }
 
     @GetMapping
     public Collection<ItemDto> getItemsByUser(@RequestHeader(USER_ID) Long userId,
                                               @RequestParam(defaultValue = "0") int from,
-                                              @RequestParam(defaultValue = "10") int size) {
+                                              @RequestParam(defaultValue = "10") int size,
+                                              WebRequest request) {
         log.info("Получен запрос к эндпойнту /items для получения предметов пользователя по id {}", userId);
+        String eTag = itemService.getItemsByUserETag(userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemService.getItemsByUser(userId, from, size);
     }
 
     @GetMapping(value = "/search")
     public Collection<ItemDto> searchItems(@RequestParam String text,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                            @RequestParam(defaultValue = "0") int from,
                                            @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос к эндпойнту /items для поиска предметов по запросу {}", text);
+        if (start != null || end != null) {
+            return itemService.searchItems(text, start, end, from, size);
+        }
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping(value = "/{itemId}/availability")
+    public List<FreeIntervalDto> getAvailability(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime to) {
+        log.info("Получен запрос к эндпойнту /items для получения свободных периодов предмета {}", itemId);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
     public CommentDto postComment(@RequestHeader(USER_ID) Long userId, @PathVariable Long itemId,
                                   @RequestBody CommentDto commentDto) {
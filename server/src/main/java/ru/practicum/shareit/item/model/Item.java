@@ -11,10 +11,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Entity
 @Table(name = "items", schema = "public")
 @AllArgsConstructor
@@ -35,4 +36,7 @@ public class Item {
     Long requestId;
 
     Boolean available;
+
+    @Version
+    long version;
 }
@@ -13,6 +13,7 @@ import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.validator.Validator;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -26,23 +27,25 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ValidatorCache validatorCache;
 
     @Autowired
     public CommentServiceImpl(CommentMapper commentMapper, BookingRepository bookingRepository,
                               CommentRepository commentRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository, ValidatorCache validatorCache) {
         this.commentMapper = commentMapper;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.validatorCache = validatorCache;
     }
 
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
         LocalDateTime currentTime = LocalDateTime.now();
         Comment comment = commentMapper.commentDtoToComment(commentDto);
-        Validator.validateItem(itemRepository, itemId);
+        Validator.validateItem(validatorCache, itemId);
         User currentUser = Validator.validateUserAndReturn(userRepository, userId);
         Collection<Booking> bookings = bookingRepository
                 .findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(itemId, userId, currentTime);
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long userId);
@@ -14,4 +17,12 @@ public interface ItemService {
     Collection<ItemDto> getItemsByUser(Long userId, int from, int size);
 
     Collection<ItemDto> searchItems(String text, int from, int size);
+
+    Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    List<FreeIntervalDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    String getItemETag(Long itemId, Long userId);
+
+    String getItemsByUserETag(Long userId);
 }
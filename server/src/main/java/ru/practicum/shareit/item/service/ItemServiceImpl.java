@@ -5,19 +5,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDtoShort;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.AccessForbiddenError;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.validator.Validator;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -27,31 +31,43 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class ItemServiceImpl implements ItemService {
+    private static final int SEARCH_CHUNK = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ItemMapper itemMapper;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ValidatorCache validatorCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
                            BookingRepository bookingRepository, ItemMapper itemMapper,
-                           CommentRepository commentRepository, CommentMapper commentMapper) {
+                           CommentRepository commentRepository, CommentMapper commentMapper,
+                           ItemSearchIndex itemSearchIndex, ValidatorCache validatorCache,
+                           BookingIntervalIndex bookingIntervalIndex) {
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
         this.itemMapper = itemMapper;
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
+        this.itemSearchIndex = itemSearchIndex;
+        this.validatorCache = validatorCache;
+        this.bookingIntervalIndex = bookingIntervalIndex;
     }
 
     @Override
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        Validator.validateUser(userRepository, userId);
+        Validator.validateUser(validatorCache, userId);
         Item item = itemMapper.dtoToItem(itemDto);
         item.setOwnerId(userId);
-        return itemMapper.itemToDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.indexAfterCommit(savedItem);
+        return itemMapper.itemToDto(savedItem);
     }
 
     @Override
@@ -72,17 +88,20 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return itemMapper.itemToDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        ValidatorCache.afterCommit(() -> validatorCache.evictItem(itemId));
+        itemSearchIndex.indexAfterCommit(savedItem);
+        return itemMapper.itemToDto(savedItem);
     }
 
 
     @Override
     public ItemDto getItem(Long itemId, Long userId) {
-        Item item = Validator.validateItemAndReturn(itemRepository, itemId);
+        Item item = Validator.validateItemAndReturn(validatorCache, itemId);
         Long currentUserId = item.getOwnerId();
         ItemDto itemDto = itemMapper.itemToDto(item);
         if (Objects.equals(currentUserId, userId)) {
-            itemDto = addLastNextBookingsForOneItem(itemDto);
+            addLastNextBookings(Collections.singletonMap(itemId, itemDto));
         }
         itemDto.setComments(commentRepository
                 .findByItemId(itemId).stream().map(commentMapper::commentToDto).collect(Collectors.toList()));
@@ -104,79 +123,114 @@ public class ItemServiceImpl implements ItemService {
             return new ArrayList<>();
         }
         int page = from / size;
+        if (itemSearchIndex.isEnabled()) {
+            return addLastNextBookingsForItems(itemSearchIndex.search(text, page * size, size));
+        }
         Pageable pageable = PageRequest.of(page, size);
 
-        return addLastNextBookingsForItems(itemRepository
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text, pageable).stream()
-                .filter(Item::getAvailable).collect(Collectors.toList()));
+        return addLastNextBookingsForItems(itemRepository.searchAvailable(text, pageable).getContent());
     }
 
-    private ItemDto addLastNextBookingsForOneItem(ItemDto itemDto) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        Booking lastBooking = bookingRepository
-                .findTopByItemIdAndStartDateBeforeAndStatusOrderByEndDateDesc(itemDto.getId(),
-                        currentTime, "APPROVED");
-        if (lastBooking != null) {
-            itemDto.setLastBooking(BookingDtoShort.builder()
-                    .id(lastBooking.getId())
-                    .bookerId(lastBooking.getBooker().getId())
-                    .build());
-        }
-        Booking nextBooking = bookingRepository
-                .findTopByItemIdAndStartDateAfterAndStatusOrderByStartDateAsc(itemDto.getId(),
-                        currentTime, "APPROVED");
-        if (nextBooking != null) {
-            itemDto.setNextBooking(BookingDtoShort.builder()
-                    .id(nextBooking.getId())
-                    .bookerId(nextBooking.getBooker().getId())
-                    .build());
+    @Override
+    public Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (start == null || end == null) {
+            throw new InvalidRequestException("Для поиска по периоду нужно указать его начало и конец");
         }
-        return itemDto;
-    }
-
-    private Collection<ItemDto> addLastNextBookingsForItems(List<Item> items) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        Map<Long, List<Booking>> bookings = bookingRepository.findAll().stream()
-                .collect(Collectors.groupingBy(o -> o.getItem().getId(),
-                        Collectors.mapping(o -> o, Collectors.toList())));
-        Map<Long, List<Comment>> comments = commentRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Comment::getItemId,
-                        Collectors.mapping(o -> o, Collectors.toList())));
+        if (!end.isAfter(start)) {
+            throw new InvalidRequestException("Конец периода должен быть позже его начала");
+        }
+        if (Objects.equals(text, "")) {
+            return new ArrayList<>();
+        }
+        int page = from / size;
+        if (itemSearchIndex.isAvailabilityEnabled()) {
+            return addLastNextBookingsForItems(searchFreeInMemory(text, start, end, page * size, size));
+        }
+        Pageable pageable = PageRequest.of(page, size);
 
-        Collection<ItemDto> response = new ArrayList<>();
+        return addLastNextBookingsForItems(itemRepository.searchAvailableBetween(text, start, end, pageable)
+                .getContent());
+    }
 
-        for (Item currentItem : items) {
-            ItemDto currentItemDto = itemMapper.itemToDto(currentItem);
-            List<Booking> itemBookings = bookings.getOrDefault(currentItemDto.getId(), List.of());
-            if (itemBookings.size() > 0) {
-                itemBookings.sort(Comparator.comparingInt(o -> o.getStartDate().getSecond()));
+    private List<Item> searchFreeInMemory(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        List<Long> response = new ArrayList<>();
+        int skipped = 0;
+        Long afterId = Long.MIN_VALUE;
+        while (response.size() < size) {
+            List<Long> chunk = itemSearchIndex.searchIds(text, afterId, SEARCH_CHUNK);
+            if (chunk.isEmpty()) {
+                break;
             }
-            Booking lastBooking = null;
-            Booking nextBooking = null;
-            for (Booking booking : itemBookings) {
-                if (booking.getStartDate().isAfter(currentTime)) {
-                    nextBooking = booking;
-                } else {
-                    lastBooking = booking;
+            afterId = chunk.get(chunk.size() - 1);
+            Set<Long> busy = bookingIntervalIndex.busyItems(chunk, start, end);
+            for (Long itemId : chunk) {
+                if (busy.contains(itemId) || skipped++ < from) {
+                    continue;
+                }
+                response.add(itemId);
+                if (response.size() == size) {
                     break;
                 }
             }
-            if (lastBooking != null) {
-                currentItemDto.setLastBooking(BookingDtoShort.builder()
-                        .id(lastBooking.getId())
-                        .bookerId(lastBooking.getBooker().getId())
-                        .build());
-            }
-            if (nextBooking != null) {
-                currentItemDto.setNextBooking(BookingDtoShort.builder()
-                        .id(nextBooking.getId())
-                        .bookerId(nextBooking.getBooker().getId())
-                        .build());
+        }
+        return itemSearchIndex.get(response);
+    }
+
+    @Override
+    public List<FreeIntervalDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidRequestException("Конец периода должен быть позже его начала");
+        }
+        Validator.validateItem(validatorCache, itemId);
+        return bookingIntervalIndex.freeIntervals(itemId, from, to);
+    }
+
+    @Override
+    public String getItemETag(Long itemId, Long userId) {
+        String tag = itemRepository.findETag(itemId, userId, LocalDateTime.now());
+        return tag != null ? "item-" + itemId + "-" + tag : null;
+    }
+
+    @Override
+    public String getItemsByUserETag(Long userId) {
+        String tag = itemRepository.findETagByOwnerId(userId, LocalDateTime.now());
+        return tag != null ? "items-" + userId + "-" + tag : null;
+    }
+
+    private void addLastNextBookings(Map<Long, ItemDto> itemDtos) {
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextByItemIds(itemDtos.keySet(),
+                LocalDateTime.now(), "APPROVED");
+        for (ItemBookingView booking : bookings) {
+            ItemDto itemDto = itemDtos.get(booking.getItemId());
+            BookingDtoShort bookingDtoShort = BookingDtoShort.builder()
+                    .id(booking.getId())
+                    .bookerId(booking.getBookerId())
+                    .build();
+            if (Objects.equals(booking.getKind(), "LAST")) {
+                itemDto.setLastBooking(bookingDtoShort);
+            } else {
+                itemDto.setNextBooking(bookingDtoShort);
             }
-            currentItemDto.setComments(comments.getOrDefault(currentItemDto.getId(), List.of())
+        }
+    }
+
+    private Collection<ItemDto> addLastNextBookingsForItems(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ItemDto> itemDtos = new LinkedHashMap<>();
+        for (Item currentItem : items) {
+            itemDtos.put(currentItem.getId(), itemMapper.itemToDto(currentItem));
+        }
+        addLastNextBookings(itemDtos);
+        Map<Long, List<Comment>> comments = commentRepository.findByItemIdIn(itemDtos.keySet()).stream()
+                .collect(Collectors.groupingBy(Comment::getItemId,
+                        Collectors.mapping(o -> o, Collectors.toList())));
+
+        for (Map.Entry<Long, ItemDto> entry : itemDtos.entrySet()) {
+            entry.getValue().setComments(comments.getOrDefault(entry.getKey(), List.of())
                     .stream().map(commentMapper::commentToDto).collect(Collectors.toList()));
-            response.add(currentItemDto);
         }
-        return response;
+        return new ArrayList<>(itemDtos.values());
     }
 }
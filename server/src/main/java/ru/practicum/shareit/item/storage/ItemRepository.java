@@ -2,14 +2,62 @@ package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findByOwnerIdOrderById(Long userId, Pageable pageable);
 
+    List<Item> findByAvailableTrue();
+
+    List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
     Page<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String textName, String textDescription,
                                                                                Pageable pageable);
+
+    @Query("select i from Item i where i.available = true and " +
+            "(lower(i.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} or " +
+            "lower(i.description) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "order by i.id")
+    Slice<Item> searchAvailable(String text, Pageable pageable);
+
+    @Query("select i from Item i where i.available = true and " +
+            "(lower(i.name) like lower(concat('%', :#{escape(#text)}, '%')) escape :#{escapeCharacter()} or " +
+            "lower(i.description) like lower(concat('%', :#{escape(#text)}, '%')) escape :#{escapeCharacter()}) " +
+            "and not exists (select b.id from Booking b where b.item = i and b.status in ('WAITING', 'APPROVED') " +
+            "and b.endDate > :start and b.startDate < :end) " +
+            "order by i.id")
+    Slice<Item> searchAvailableBetween(@Param("text") String text, @Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(value = "select concat(i.version, '-', " +
+            "(select concat(count(*), '-', coalesce(max(c.id), 0)) from comments as c where c.item_id = i.id), " +
+            "case when i.owner_id = ?2 then concat('-', " +
+            "(select concat(count(*), '-', coalesce(max(b.id), 0), '-', coalesce(sum(b.version), 0), '-', " +
+            "count(case when b.owner_approval = 'APPROVED' and b.start_date < ?3 then 1 end)) " +
+            "from bookings as b where b.item_id = i.id)) else '' end) " +
+            "from items as i where i.id = ?1", nativeQuery = true)
+    String findETag(Long itemId, Long userId, LocalDateTime current);
+
+    @Query(value = "select concat(" +
+            "(select concat(count(*), '-', coalesce(max(i.id), 0), '-', coalesce(sum(i.version), 0)) " +
+            "from items as i where i.owner_id = u.id), '-', " +
+            "(select concat(count(*), '-', coalesce(max(c.id), 0)) " +
+            "from items as i join comments as c on c.item_id = i.id where i.owner_id = u.id), '-', " +
+            "(select concat(count(*), '-', coalesce(max(b.id), 0), '-', coalesce(sum(b.version), 0), '-', " +
+            "count(case when b.owner_approval = 'APPROVED' and b.start_date < ?2 then 1 end)) " +
+            "from bookings as b where b.owner_id = u.id)) " +
+            "from users as u where u.id = ?1", nativeQuery = true)
+    String findETagByOwnerId(Long userId, LocalDateTime current);
 }
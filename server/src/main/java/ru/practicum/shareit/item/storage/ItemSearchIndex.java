@@ -0,0 +1,267 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final boolean availabilityEnabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Entry> items = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.in-memory.enabled:false}") boolean enabled,
+                           @Value("${shareit.search.available.in-memory.enabled:false}") boolean availabilityEnabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.availabilityEnabled = enabled && availabilityEnabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isAvailabilityEnabled() {
+        return availabilityEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        List<Item> available;
+        lock.writeLock().lock();
+        try {
+            available = itemRepository.findByAvailableTrue();
+            items.clear();
+            postings.clear();
+            available.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс поиска предметов построен, предметов: {}", available.size());
+    }
+
+    public void indexAfterCommit(Item item) {
+        if (!enabled) {
+            return;
+        }
+        Item snapshot = copy(item);
+        afterCommit(() -> index(snapshot));
+    }
+
+    public void removeOwnerAfterCommit(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> removeOwner(ownerId));
+    }
+
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                put(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOwner(Long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> owned = new ArrayList<>();
+            for (Entry entry : items.values()) {
+                if (ownerId.equals(entry.item.getOwnerId())) {
+                    owned.add(entry.item.getId());
+                }
+            }
+            owned.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Item> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Item> response = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Long> ids = matches(query, Long.MIN_VALUE, from + size);
+            for (Long id : ids.subList(Math.min(from, ids.size()), ids.size())) {
+                response.add(copy(items.get(id).item));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return response;
+    }
+
+    public List<Long> searchIds(String text, Long afterId, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return matches(query, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Item> get(List<Long> itemIds) {
+        List<Item> response = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : itemIds) {
+                Entry entry = items.get(id);
+                if (entry != null) {
+                    response.add(copy(entry.item));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return response;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<Long> matches(String query, Long afterId, int limit) {
+        List<Long> response = new ArrayList<>();
+        List<NavigableSet<Long>> lists = postings(query);
+        if (lists.isEmpty()) {
+            return response;
+        }
+        for (Long id : lists.get(0).tailSet(afterId, false)) {
+            if (inAll(lists, id) && items.get(id).text.contains(query)) {
+                response.add(id);
+                if (response.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return response;
+    }
+
+    private List<NavigableSet<Long>> postings(String query) {
+        if (query.length() < GRAM) {
+            return List.of(items.navigableKeySet());
+        }
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        return lists;
+    }
+
+    private static boolean inAll(List<NavigableSet<Long>> lists, Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(Item item) {
+        Entry entry = new Entry(item);
+        items.put(item.getId(), entry);
+        for (String gram : entry.grams) {
+            postings.computeIfAbsent(gram, key -> new TreeSet<>()).add(item.getId());
+        }
+    }
+
+    private void remove(Long itemId) {
+        Entry entry = items.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams) {
+            NavigableSet<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static Item copy(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .ownerId(item.getOwnerId())
+                .requestId(item.getRequestId())
+                .available(item.getAvailable())
+                .build();
+    }
+
+    private static class Entry {
+        private final Item item;
+        private final String text;
+        private final Set<String> grams;
+
+        Entry(Item item) {
+            this.item = copy(item);
+            String name = item.getName() == null ? "" : item.getName().toLowerCase(Locale.ROOT);
+            String description = item.getDescription() == null ? "" : item.getDescription().toLowerCase(Locale.ROOT);
+            this.text = name + "\u0000" + description;
+            this.grams = grams(name);
+            this.grams.addAll(grams(description));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Data
+@Builder
+public class Cursor {
+    LocalDateTime time;
+    Long id;
+
+    public static Cursor from(String cursor) {
+        int separator = cursor.lastIndexOf(',');
+        if (separator < 0) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Cursor.builder()
+                    .time(LocalDateTime.parse(cursor.substring(0, separator).trim()))
+                    .id(Long.parseLong(cursor.substring(separator + 1).trim()))
+                    .build();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return time + "," + id;
+    }
+}
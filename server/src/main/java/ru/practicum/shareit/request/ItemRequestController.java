@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -30,22 +31,35 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public Collection<ItemRequestDto> getAllUserRequests(@RequestHeader(USER_ID) Long userId) {
+    public Collection<ItemRequestDto> getAllUserRequests(@RequestHeader(USER_ID) Long userId, WebRequest request) {
         log.info("Получен запрос к эндпойнту /requests для получения списка реквестов пользователя");
+        String eTag = itemRequestService.getAllUserRequestsETag(userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemRequestService.getAllUserRequests(userId);
     }
 
     @GetMapping(value = "/all")
     public Collection<ItemRequestDto> getAllRequests(@RequestParam(defaultValue = "0") int from,
                                                      @RequestParam(defaultValue = "10") int size,
+                                                     @RequestParam(required = false) String cursor,
                                                      @RequestHeader(USER_ID) Long userId) {
         log.info("Получен запрос к эндпойнту /requests для получения списка всех реквестов");
+        if (cursor != null) {
+            return itemRequestService.getAllRequestsAfter(cursor, size, userId);
+        }
         return itemRequestService.getAllRequests(from, size, userId);
     }
 
     @GetMapping(value = "/{requestId}")
-    public ItemRequestDto getItemRequest(@PathVariable Long requestId, @RequestHeader(USER_ID) Long userId) {
+    public ItemRequestDto getItemRequest(@PathVariable Long requestId, @RequestHeader(USER_ID) Long userId,
+                                         WebRequest request) {
         log.info("Получен запрос к эндпойнту /requests для получения реквеста по id {}", requestId);
+        String eTag = itemRequestService.getItemRequestETag(requestId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemRequestService.getItemRequest(requestId, userId);
     }
 }
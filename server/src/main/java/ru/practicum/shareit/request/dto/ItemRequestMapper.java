@@ -14,13 +14,16 @@ public class ItemRequestMapper {
     private final ItemMapper itemMapper = new ItemMapper();
 
     public ItemRequestDto itemRequestToDto(ItemRequest itemRequest) {
+        return itemRequestToDto(itemRequest, itemRequest.getItems());
+    }
+
+    public ItemRequestDto itemRequestToDto(ItemRequest itemRequest, Collection<Item> items) {
         ItemRequestDto response = ItemRequestDto.builder()
                 .description(itemRequest.getDescription())
                 .id(itemRequest.getId())
                 .userId(itemRequest.getUserId())
                 .created(itemRequest.getCreated())
                 .build();
-        Collection<Item> items = itemRequest.getItems();
         if (items != null) {
             response.setItems(items.stream().map(itemMapper::itemToDto).collect(Collectors.toList()));
         }
@@ -14,6 +14,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,4 +39,7 @@ public class ItemRequest {
     List<Item> items = new ArrayList<>();
 
     LocalDateTime created;
+
+    @Version
+    long version;
 }
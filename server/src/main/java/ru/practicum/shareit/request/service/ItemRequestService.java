@@ -11,5 +11,11 @@ public interface ItemRequestService {
 
     Collection<ItemRequestDto> getAllRequests(int from, int size, Long userId);
 
+    Collection<ItemRequestDto> getAllRequestsAfter(String cursor, int size, Long userId);
+
     ItemRequestDto getItemRequest(Long requestId, Long userId);
+
+    String getItemRequestETag(Long requestId, Long userId);
+
+    String getAllUserRequestsETag(Long userId);
 }
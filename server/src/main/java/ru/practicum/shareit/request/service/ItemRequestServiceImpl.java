@@ -4,16 +4,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.validator.Validator;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,19 +28,24 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
+    private final ValidatorCache validatorCache;
 
     @Autowired
     public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserRepository userRepository,
-                                  ItemRequestMapper itemRequestMapper) {
+                                  ItemRepository itemRepository, ItemRequestMapper itemRequestMapper,
+                                  ValidatorCache validatorCache) {
         this.itemRequestRepository = itemRequestRepository;
         this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
         this.itemRequestMapper = itemRequestMapper;
+        this.validatorCache = validatorCache;
     }
 
     @Override
     public ItemRequestDto createItemRequest(ItemRequestDto request, Long userId) {
-        Validator.validateUser(userRepository, userId);
+        Validator.validateUser(validatorCache, userId);
         LocalDateTime currentTime = LocalDateTime.now();
         request.setUserId(userId);
         request.setCreated(currentTime);
@@ -43,25 +55,57 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public Collection<ItemRequestDto> getAllUserRequests(Long userId) {
-        Validator.validateUser(userRepository, userId);
-        return itemRequestRepository.getByUserIdOrderByCreatedAsc(userId).stream()
-                .map(itemRequestMapper::itemRequestToDto).collect(Collectors.toList());
+        Validator.validateUser(validatorCache, userId);
+        return itemRequestsToDto(itemRequestRepository.getByUserIdOrderByCreatedAsc(userId));
     }
 
     @Override
     public Collection<ItemRequestDto> getAllRequests(int from, int size, Long userId) {
-        Validator.validateUser(userRepository, userId);
+        Validator.validateUser(validatorCache, userId);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
-        return itemRequestRepository.findAllByOrderByCreatedAsc(pageable).stream()
-                .filter(x -> !Objects.equals(x.getUserId(), userId))
-                .map(itemRequestMapper::itemRequestToDto).collect(Collectors.toList());
+        return itemRequestsToDto(itemRequestRepository.findByUserIdNotOrderByCreatedAscIdAsc(userId, pageable)
+                .getContent());
+    }
+
+    @Override
+    public Collection<ItemRequestDto> getAllRequestsAfter(String cursor, int size, Long userId) {
+        Validator.validateUser(validatorCache, userId);
+        Cursor after = Cursor.from(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        return itemRequestsToDto(itemRequestRepository.findByUserIdNotAfter(userId, after.getTime(), after.getId(),
+                pageable).getContent());
     }
 
     @Override
     public ItemRequestDto getItemRequest(Long requestId, Long userId) {
-        Validator.validateUser(userRepository, userId);
-        Validator.validateRequest(itemRequestRepository, requestId);
-        return itemRequestMapper.itemRequestToDto(itemRequestRepository.getReferenceById(requestId));
+        Validator.validateUser(validatorCache, userId);
+        ItemRequest itemRequest = Validator.validateRequestAndReturn(itemRequestRepository, requestId);
+        return itemRequestMapper.itemRequestToDto(itemRequest, itemRepository.findByRequestId(requestId));
+    }
+
+    @Override
+    public String getItemRequestETag(Long requestId, Long userId) {
+        String tag = itemRequestRepository.findETag(requestId, userId);
+        return tag != null ? "request-" + requestId + "-" + tag : null;
+    }
+
+    @Override
+    public String getAllUserRequestsETag(Long userId) {
+        String tag = itemRequestRepository.findETagByUserId(userId);
+        return tag != null ? "requests-" + userId + "-" + tag : null;
+    }
+
+    private Collection<ItemRequestDto> itemRequestsToDto(Collection<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<Item>> items = itemRepository.findByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequest::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+        return itemRequests.stream()
+                .map(itemRequest -> itemRequestMapper.itemRequestToDto(itemRequest,
+                        items.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 }
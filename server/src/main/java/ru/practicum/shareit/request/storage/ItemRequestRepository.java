@@ -1,16 +1,37 @@
 package ru.practicum.shareit.request.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     Collection<ItemRequest> getByUserIdOrderByCreatedAsc(Long userId);
 
-    Page<ItemRequest> findAllByOrderByCreatedAsc(Pageable pageable);
+    Slice<ItemRequest> findByUserIdNotOrderByCreatedAscIdAsc(Long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.userId <> ?1 and (r.created > ?2 or (r.created = ?2 and " +
+            "r.id > ?3)) order by r.created asc, r.id asc")
+    Slice<ItemRequest> findByUserIdNotAfter(Long userId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query(value = "select concat(r.version, '-', " +
+            "(select concat(count(*), '-', coalesce(max(i.id), 0), '-', coalesce(sum(i.version), 0)) " +
+            "from items as i where i.request_id = r.id)) " +
+            "from requests as r where r.id = ?1 and exists (select 1 from users as u where u.id = ?2)",
+            nativeQuery = true)
+    String findETag(Long requestId, Long userId);
+
+    @Query(value = "select concat(" +
+            "(select concat(count(*), '-', coalesce(max(r.id), 0), '-', coalesce(sum(r.version), 0)) " +
+            "from requests as r where r.user_id = u.id), '-', " +
+            "(select concat(count(*), '-', coalesce(max(i.id), 0), '-', coalesce(sum(i.version), 0)) " +
+            "from requests as r join items as i on i.request_id = r.id where r.user_id = u.id)) " +
+            "from users as u where u.id = ?1", nativeQuery = true)
+    String findETagByUserId(Long userId);
 }
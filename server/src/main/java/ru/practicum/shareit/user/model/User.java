@@ -22,4 +22,7 @@ public class User {
     private String name;
 
     private String email;
+
+    @Version
+    private long version;
 }
@@ -14,4 +14,6 @@ public interface UserService {
     Collection<UserDto> getUsers();
 
     UserDto getUserById(Long id);
+
+    String getUserETag(Long id);
 }
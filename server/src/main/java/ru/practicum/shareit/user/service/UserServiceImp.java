@@ -3,12 +3,15 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ServerErrorException;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.validator.Validator;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import javax.transaction.Transactional;
 import java.util.Collection;
@@ -23,6 +26,9 @@ public class UserServiceImp implements UserService {
     @Autowired
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ValidatorCache validatorCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -52,12 +58,19 @@ public class UserServiceImp implements UserService {
             }
         }
         User user = userRepository.save(currentUser);
+        ValidatorCache.afterCommit(() -> validatorCache.evictUser(userId));
         return userMapper.userToDto(user);
     }
 
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        ValidatorCache.afterCommit(() -> {
+            validatorCache.evictUser(userId);
+            validatorCache.evictItems();
+        });
+        bookingIntervalIndex.clearAfterCommit();
+        itemSearchIndex.removeOwnerAfterCommit(userId);
     }
 
     @Override
@@ -71,4 +84,10 @@ public class UserServiceImp implements UserService {
         User user = Validator.validateUserAndReturn(userRepository, id);
         return userMapper.userToDto(user);
     }
+
+    @Override
+    public String getUserETag(Long id) {
+        Long version = userRepository.findVersionById(id);
+        return version != null ? "user-" + id + "-" + version : null;
+    }
 }
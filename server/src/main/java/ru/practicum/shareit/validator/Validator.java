@@ -7,6 +7,7 @@ import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
@@ -14,8 +15,8 @@ import ru.practicum.shareit.user.storage.UserRepository;
 import java.util.Objects;
 
 public class Validator {
-    public static void validateUser(UserRepository userRepository, Long userId) {
-        if (!userRepository.existsById(userId)) {
+    public static void validateUser(ValidatorCache validatorCache, Long userId) {
+        if (!validatorCache.userExists(userId)) {
             throw new ObjectNotFoundException("Данный пользователь не существет");
         }
     }
@@ -30,19 +31,26 @@ public class Validator {
                 .orElseThrow(() -> new ObjectNotFoundException("Данный предмет не существет"));
     }
 
+    public static Item validateItemAndReturn(ValidatorCache validatorCache, Long itemId) {
+        Item item = validatorCache.findItem(itemId);
+        if (item == null) {
+            throw new ObjectNotFoundException("Данный предмет не существет");
+        }
+        return item;
+    }
+
     public static Booking validateBookingAndReturn(BookingRepository bookingRepository, Long bookingId) {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ObjectNotFoundException("Данное бронирование не существет"));
     }
 
-    public static void validateRequest(ItemRequestRepository itemRequestRepository, Long requestId) {
-        if (!itemRequestRepository.existsById(requestId)) {
-            throw new ObjectNotFoundException("Данный реквест не существет");
-        }
+    public static ItemRequest validateRequestAndReturn(ItemRequestRepository itemRequestRepository, Long requestId) {
+        return itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new ObjectNotFoundException("Данный реквест не существет"));
     }
 
-    public static void validateItem(ItemRepository itemRepository, Long itemId) {
-        if (!itemRepository.existsById(itemId)) {
+    public static void validateItem(ValidatorCache validatorCache, Long itemId) {
+        if (validatorCache.findItem(itemId) == null) {
             throw new ObjectNotFoundException("Данный предмет не существет");
         }
     }
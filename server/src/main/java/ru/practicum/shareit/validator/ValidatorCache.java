@@ -0,0 +1,61 @@
+package ru.practicum.shareit.validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+@Component
+public class ValidatorCache {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public ValidatorCache(UserRepository userRepository, ItemRepository itemRepository) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    @Cacheable(cacheNames = USERS, unless = "!#result")
+    public boolean userExists(Long userId) {
+        return userRepository.existsById(userId);
+    }
+
+    @Cacheable(cacheNames = ITEMS, unless = "#result == null")
+    public Item findItem(Long itemId) {
+        return itemRepository.findById(itemId).map(item -> item.toBuilder().build()).orElse(null);
+    }
+
+    @CacheEvict(cacheNames = USERS)
+    public void evictUser(Long userId) {
+    }
+
+    @CacheEvict(cacheNames = ITEMS)
+    public void evictItem(Long itemId) {
+    }
+
+    @CacheEvict(cacheNames = ITEMS, allEntries = true)
+    public void evictItems() {
+    }
+
+    public static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
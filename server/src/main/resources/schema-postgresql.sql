@@ -0,0 +1,7 @@
+CREATE INDEX idx_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops) WHERE available;
+
+CREATE INDEX idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops) WHERE available;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (owner_approval IN ('WAITING', 'APPROVED'));
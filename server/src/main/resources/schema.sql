@@ -12,6 +12,7 @@ CREATE TABLE users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(25) NOT NULL,
   email VARCHAR(51) UNIQUE,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_user PRIMARY KEY (id)
 );
 
@@ -20,6 +21,7 @@ CREATE TABLE requests (
     user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     description VARCHAR(600) NOT NULL,
     created TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_request PRIMARY KEY (id)
 );
 
@@ -30,19 +32,46 @@ CREATE TABLE items (
     available BOOLEAN NOT NULL,
     owner_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     request_id INTEGER REFERENCES requests(id) ON DELETE CASCADE,
-    CONSTRAINT pk_items PRIMARY KEY (id)
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_items PRIMARY KEY (id),
+    CONSTRAINT uq_items_owner UNIQUE (id, owner_id)
 );
 
 CREATE TABLE bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     item_id INTEGER NOT NULL REFERENCES items(id) ON DELETE CASCADE,
     booker_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    owner_id INTEGER NOT NULL,
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     owner_approval VARCHAR(10),
-    user_feedback VARCHAR(100)
+    user_feedback VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_bookings PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_item_owner FOREIGN KEY (item_id, owner_id) REFERENCES items (id, owner_id)
+        ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+CREATE INDEX idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX idx_requests_created ON requests (created, id);
+
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, owner_approval, start_date DESC);
+
+CREATE INDEX idx_bookings_owner_start ON bookings (owner_id, start_date DESC);
+
+CREATE INDEX idx_bookings_owner_status_start ON bookings (owner_id, owner_approval, start_date DESC);
+
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, owner_approval, start_date);
+
+CREATE INDEX idx_bookings_item_status_end ON bookings (item_id, owner_approval, end_date);
+
+CREATE INDEX idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+
 CREATE TABLE comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     item_id INTEGER NOT NULL REFERENCES items(id) ON DELETE CASCADE,
@@ -51,4 +80,6 @@ CREATE TABLE comments (
     created TIMESTAMP
 );
 
+CREATE INDEX idx_comments_item_id ON comments (item_id);
+
 
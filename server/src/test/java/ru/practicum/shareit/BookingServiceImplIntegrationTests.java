@@ -6,26 +6,42 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemLockRegistry;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserServiceImp;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -49,6 +65,7 @@ public class BookingServiceImplIntegrationTests {
     private CommentRepository commentRepository;
     private CommentMapper commentMapper;
     private UserServiceImp userServiceImp;
+    private BookingIntervalIndex bookingIntervalIndex;
     private UserDto userOne;
     private UserDto userTwo;
 
@@ -64,13 +81,18 @@ public class BookingServiceImplIntegrationTests {
         itemMapper = new ItemMapper();
         userMapper = new UserMapper();
         bookingMapper = new BookingMapper();
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 100);
         itemService = new ItemServiceImpl(itemRepository, userRepository,
                 bookingRepository, itemMapper,
-                commentRepository, commentMapper);
-        userServiceImp = new UserServiceImp(userRepository, userMapper);
+                commentRepository, commentMapper,
+                new ItemSearchIndex(itemRepository, false, false), new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex);
+        userServiceImp = new UserServiceImp(userRepository, userMapper, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex, new ItemSearchIndex(itemRepository, false, false));
 
         bookingService = new BookingServiceImpl(userRepository, bookingRepository,
-                itemRepository, bookingMapper);
+                itemRepository, bookingMapper, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex, new ItemLockRegistry(16));
 
         userOne = UserDto.builder()
                 .name("User1")
@@ -196,4 +218,256 @@ public class BookingServiceImplIntegrationTests {
 
         assertThrows(ObjectNotFoundException.class, () -> bookingService.getBookingById(1L, 3L));
     }
+
+    @Test
+    public void testCreateBookings() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        itemService.createItem(itemTwo, 2L);
+        LocalDateTime start = bookingOne.getStart();
+        List<BookingBatchResult> results = bookingService.createBookings(List.of(bookingOne,
+                booking(2L, start, bookingOne.getEnd()),
+                booking(99L, start, bookingOne.getEnd()),
+                booking(1L, start, start.minusDays(1)),
+                booking(1L, bookingOne.getEnd(), bookingOne.getEnd().plusDays(1)),
+                booking(1L, start.plusDays(1), bookingOne.getEnd())), 2L);
+
+        assertThat(results.size()).isEqualTo(6);
+        assertThat(results.get(0).getStatus()).isEqualTo(200);
+        assertThat(results.get(0).getBooking().getId()).isEqualTo(1L);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo("WAITING");
+        assertThat(results.get(1).getStatus()).isEqualTo(404);
+        assertThat(results.get(2).getStatus()).isEqualTo(404);
+        assertThat(results.get(3).getStatus()).isEqualTo(400);
+        assertThat(results.get(3).getError()).isNotNull();
+        assertThat(results.get(4).getBooking().getId()).isEqualTo(2L);
+        assertThat(results.get(5).getStatus()).isEqualTo(400);
+        assertThat(bookingService.getAllByOwner(1L, "ALL", 0, 10).size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUpdateBookings() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        bookingService.createBookings(List.of(bookingOne,
+                booking(1L, bookingOne.getEnd(), bookingOne.getEnd().plusDays(1))), 2L);
+        List<BookingBatchResult> results = bookingService.updateBookings(1L, List.of(
+                BookingApprovalDto.builder().bookingId(1L).approved(true).build(),
+                BookingApprovalDto.builder().bookingId(2L).approved(false).build(),
+                BookingApprovalDto.builder().bookingId(1L).approved(false).build(),
+                BookingApprovalDto.builder().bookingId(99L).approved(true).build()));
+
+        assertThat(results.size()).isEqualTo(4);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo("APPROVED");
+        assertThat(results.get(1).getBooking().getStatus()).isEqualTo("REJECTED");
+        assertThat(results.get(2).getStatus()).isEqualTo(400);
+        assertThat(results.get(3).getStatus()).isEqualTo(404);
+        assertThat(bookingService.getBookingById(1L, 1L).getStatus()).isEqualTo("APPROVED");
+        assertThat(bookingService.getBookingById(2L, 2L).getStatus()).isEqualTo("REJECTED");
+        assertThat(bookingService.updateBookings(2L, List.of(BookingApprovalDto.builder().bookingId(1L)
+                .approved(true).build())).get(0).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    public void testConcurrentBookingsOfOneItem() throws Exception {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = bookingOne.getStart().plusHours(i % 24);
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.createBooking(booking(1L, start, start.plusDays(1)), 2L);
+                    return true;
+                } catch (InvalidRequestException e) {
+                    return false;
+                }
+            }));
+        }
+        ready.countDown();
+        int created = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).isEqualTo(1);
+        assertThat(bookingRepository.count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testConcurrentApprovals() throws Exception {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        bookingService.createBooking(bookingOne, 2L);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String approved = String.valueOf(i % 2 == 0);
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    return bookingService.updateBooking(1L, 1L, approved).getStatus();
+                } catch (InvalidRequestException e) {
+                    return null;
+                }
+            }));
+        }
+        ready.countDown();
+        List<String> decisions = new ArrayList<>();
+        for (Future<String> future : futures) {
+            String status = future.get();
+            if (status != null) {
+                decisions.add(status);
+            }
+        }
+        executor.shutdown();
+
+        assertThat(decisions.size()).isEqualTo(1);
+        assertThat(bookingService.getBookingById(1L, 1L).getStatus()).isEqualTo(decisions.get(0));
+        assertThat(bookingRepository.findById(1L).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testCreateOverlappingBooking() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        userServiceImp.createUser(userThree);
+        itemService.createItem(itemOne, 1L);
+        LocalDateTime start = bookingOne.getStart();
+        LocalDateTime end = bookingOne.getEnd();
+        bookingService.createBooking(bookingOne, 2L);
+
+        assertThrows(InvalidRequestException.class,
+                () -> bookingService.createBooking(booking(1L, start.minusDays(1), start.plusDays(1)), 3L));
+        assertThrows(InvalidRequestException.class,
+                () -> bookingService.createBooking(booking(1L, start.plusDays(1), end.minusDays(1)), 3L));
+        assertThat(bookingService.createBooking(booking(1L, end, end.plusDays(1)), 3L).getId()).isEqualTo(2L);
+
+        bookingService.updateBooking(1L, 1L, "false");
+        assertThat(bookingService.createBooking(booking(1L, start, start.plusDays(1)), 3L).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testCreateOverlappingBookingsOfUnindexedItem() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        LocalDateTime start = bookingOne.getStart();
+        for (int i = 0; i < 2; i++) {
+            bookingRepository.save(Booking.builder()
+                    .item(itemRepository.findById(1L).orElseThrow())
+                    .booker(userRepository.findById(2L).orElseThrow())
+                    .ownerId(1L)
+                    .startDate(start)
+                    .endDate(start.plusDays(1))
+                    .status("WAITING")
+                    .build());
+        }
+        LocalDateTime later = start.plusDays(10);
+        List<BookingBatchResult> results = bookingService.createBookings(List.of(
+                booking(1L, later, later.plusDays(2)),
+                booking(1L, later.plusDays(1), later.plusDays(3)),
+                booking(1L, start.plusHours(1), start.plusHours(2))), 2L);
+
+        assertThat(results.get(0).getStatus()).isEqualTo(200);
+        assertThat(results.get(1).getStatus()).isEqualTo(400);
+        assertThat(results.get(2).getStatus()).isEqualTo(400);
+        assertThat(bookingRepository.count()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testCreateOverlappingBookingAfterRestart() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        bookingService.createBooking(bookingOne, 2L);
+        bookingService = new BookingServiceImpl(userRepository, bookingRepository,
+                itemRepository, bookingMapper, new ValidatorCache(userRepository, itemRepository),
+                new BookingIntervalIndex(bookingRepository, 100), new ItemLockRegistry(16));
+
+        assertThrows(InvalidRequestException.class, () -> bookingService.createBooking(bookingOne, 2L));
+    }
+
+    @Test
+    public void testGetAvailability() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        LocalDateTime from = LocalDateTime.of(2024, Month.MARCH, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, Month.MAY, 1, 0, 0);
+        LocalDateTime start = LocalDateTime.of(2024, Month.APRIL, 10, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, Month.APRIL, 12, 0, 0);
+        bookingService.createBooking(bookingOne, 2L);
+        bookingService.createBooking(booking(1L, start, end), 2L);
+
+        assertThat(itemService.getAvailability(1L, from, to)).isEqualTo(List.of(
+                new FreeIntervalDto(from, bookingOne.getStart()),
+                new FreeIntervalDto(bookingOne.getEnd(), start),
+                new FreeIntervalDto(end, to)));
+        assertThat(itemService.getAvailability(1L, start.plusHours(1), end.minusHours(1))).isEqualTo(List.of());
+
+        bookingService.updateBooking(1L, 1L, "true");
+        bookingService.updateBooking(1L, 2L, "false");
+        assertThat(itemService.getAvailability(1L, from, to)).isEqualTo(List.of(
+                new FreeIntervalDto(from, bookingOne.getStart()),
+                new FreeIntervalDto(bookingOne.getEnd(), to)));
+        assertThrows(InvalidRequestException.class, () -> itemService.getAvailability(1L, to, from));
+        assertThrows(ObjectNotFoundException.class, () -> itemService.getAvailability(99L, from, to));
+    }
+
+    @Test
+    public void testSearchItemsBetweenDates() {
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        itemService.createItem(itemTwo, 1L);
+        bookingService.createBooking(bookingOne, 2L);
+        LocalDateTime start = bookingOne.getStart().plusDays(1);
+        LocalDateTime end = bookingOne.getEnd().plusDays(1);
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository, true, true);
+        itemSearchIndex.build();
+        ItemServiceImpl inMemoryItemService = new ItemServiceImpl(itemRepository, userRepository,
+                bookingRepository, itemMapper,
+                commentRepository, commentMapper,
+                itemSearchIndex, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex);
+
+        for (ItemServiceImpl service : List.of(itemService, inMemoryItemService)) {
+            assertThat(itemIds(service.searchItems("item", start, end, 0, 10))).isEqualTo(List.of(2L));
+            assertThat(itemIds(service.searchItems("item", bookingOne.getEnd(), end, 0, 10)))
+                    .isEqualTo(List.of(1L, 2L));
+            assertThat(itemIds(service.searchItems("item 1", start, end, 0, 10))).isEqualTo(List.of());
+            assertThrows(InvalidRequestException.class, () -> service.searchItems("item", null, end, 0, 10));
+            assertThrows(InvalidRequestException.class, () -> service.searchItems("item", end, start, 0, 10));
+        }
+
+        bookingService.updateBooking(1L, 1L, "false");
+        for (ItemServiceImpl service : List.of(itemService, inMemoryItemService)) {
+            assertThat(itemIds(service.searchItems("item", start, end, 0, 10))).isEqualTo(List.of(1L, 2L));
+            assertThat(itemIds(service.searchItems("item", start, end, 1, 1))).isEqualTo(List.of(2L));
+        }
+    }
+
+    private static List<Long> itemIds(Collection<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+
+    private BookingDtoIncoming booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDtoIncoming.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
 }
@@ -9,6 +9,8 @@ import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemLockRegistry;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -19,10 +21,12 @@ import ru.practicum.shareit.item.service.CommentServiceImpl;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserServiceImp;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.time.LocalDateTime;
 import java.time.Month;
@@ -67,17 +71,22 @@ public class CommentServiceImplIntegrationTest {
         itemMapper = new ItemMapper();
         userMapper = new UserMapper();
         bookingMapper = new BookingMapper();
+        BookingIntervalIndex bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 100);
         itemService = new ItemServiceImpl(itemRepository, userRepository,
                 bookingRepository, itemMapper,
-                commentRepository, commentMapper);
-        userServiceImp = new UserServiceImp(userRepository, userMapper);
+                commentRepository, commentMapper,
+                new ItemSearchIndex(itemRepository, false, false), new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex);
+        userServiceImp = new UserServiceImp(userRepository, userMapper, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex, new ItemSearchIndex(itemRepository, false, false));
 
         bookingService = new BookingServiceImpl(userRepository, bookingRepository,
-                itemRepository, bookingMapper);
+                itemRepository, bookingMapper, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex, new ItemLockRegistry(16));
 
         commentService = new CommentServiceImpl(commentMapper, bookingRepository,
                 commentRepository, userRepository,
-                itemRepository);
+                itemRepository, new ValidatorCache(userRepository, itemRepository));
 
         userOne = UserDto.builder()
                 .name("User1")
@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.AccessForbiddenError;
 import ru.practicum.shareit.exception.InvalidRequestException;
@@ -18,11 +19,14 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserServiceImp;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -59,8 +63,11 @@ public class ItemServiceImplIntegrationTests {
         userMapper = new UserMapper();
         itemService = new ItemServiceImpl(itemRepository, userRepository,
                 bookingRepository, itemMapper,
-                commentRepository, commentMapper);
-        userServiceImp = new UserServiceImp(userRepository, userMapper);
+                commentRepository, commentMapper,
+                new ItemSearchIndex(itemRepository, false, false), new ValidatorCache(userRepository, itemRepository),
+                new BookingIntervalIndex(bookingRepository, 100));
+        userServiceImp = new UserServiceImp(userRepository, userMapper, new ValidatorCache(userRepository, itemRepository),
+                new BookingIntervalIndex(bookingRepository, 100), new ItemSearchIndex(itemRepository, false, false));
 
         userOne = UserDto.builder()
                 .name("User1")
@@ -132,6 +139,52 @@ public class ItemServiceImplIntegrationTests {
         assertThat(itemService.searchItems("item1", 0, 10)).isEqualTo(List.of(itemOne));
     }
 
+    @Test
+    public void testSearchItemsByInMemoryIndex() {
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository, true, false);
+        itemService = new ItemServiceImpl(itemRepository, userRepository,
+                bookingRepository, itemMapper,
+                commentRepository, commentMapper, itemSearchIndex, new ValidatorCache(userRepository, itemRepository),
+                new BookingIntervalIndex(bookingRepository, 100));
+        userServiceImp.createUser(userOne);
+        itemService.createItem(itemOne, 1L);
+        itemSearchIndex.build();
+        itemService.createItem(itemTwo, 1L);
+        itemOne.setId(1L);
+        itemOne.setComments(List.of());
+        itemTwo.setId(2L);
+        itemTwo.setComments(List.of());
+        assertThat(itemService.searchItems("ITEM", 0, 10)).isEqualTo(List.of(itemOne, itemTwo));
+
+        itemOne.setAvailable(false);
+        itemService.updateItem(1L, itemOne, 1L);
+        assertThat(itemService.searchItems("item", 0, 10)).isEqualTo(List.of(itemTwo));
+    }
+
+    @Test
+    public void testSearchItemsAfterOwnerDeleted() {
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository, true, true);
+        BookingIntervalIndex bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 100);
+        itemService = new ItemServiceImpl(itemRepository, userRepository,
+                bookingRepository, itemMapper,
+                commentRepository, commentMapper, itemSearchIndex, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex);
+        userServiceImp = new UserServiceImp(userRepository, userMapper, new ValidatorCache(userRepository, itemRepository),
+                bookingIntervalIndex, itemSearchIndex);
+        userServiceImp.createUser(userOne);
+        userServiceImp.createUser(userTwo);
+        itemService.createItem(itemOne, 1L);
+        itemService.createItem(itemTwo, 2L);
+        itemSearchIndex.build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        userServiceImp.deleteUser(1L);
+
+        assertThat(itemService.searchItems("item", 0, 10).size()).isEqualTo(1);
+        assertThat(itemService.searchItems("item1", 0, 10).size()).isEqualTo(0);
+        assertThat(itemService.searchItems("item1", start, start.plusDays(1), 0, 10).size()).isEqualTo(0);
+    }
+
     @Test
     public void testUpdateOtherUserItem() {
         userServiceImp.createUser(userOne);
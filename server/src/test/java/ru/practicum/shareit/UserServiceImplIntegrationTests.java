@@ -6,11 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
+import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserServiceImp;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.util.List;
 
@@ -25,6 +30,10 @@ public class UserServiceImplIntegrationTests {
     private UserServiceImp userServiceImp;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
 
     private UserDto userOne;
     private UserDto userTwo;
@@ -33,7 +42,8 @@ public class UserServiceImplIntegrationTests {
     public void createMeta() {
         UserMapper userMapper = new UserMapper();
 
-        userServiceImp = new UserServiceImp(userRepository, userMapper);
+        userServiceImp = new UserServiceImp(userRepository, userMapper, new ValidatorCache(userRepository, itemRepository),
+                new BookingIntervalIndex(bookingRepository, 100), new ItemSearchIndex(itemRepository, false, false));
         userOne = UserDto.builder()
                 .name("User1")
                 .email("user1@user.om")
@@ -191,6 +191,46 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].booker.id").value(userOne.getId()));
     }
 
+    @Test
+    void getUserBookingsWithCursorTest() throws Exception {
+        UserDto userOne = UserDto.builder()
+                .name("User1")
+                .id(1L)
+                .email("user1@user.om")
+                .build();
+        ItemDto itemOne = ItemDto.builder()
+                .id(1L)
+                .name("item1")
+                .description("description item 1")
+                .available(true).build();
+        BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2024, Month.APRIL, 5, 23, 23))
+                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .build();
+        BookingDtoOutcoming bookingOneDtoOut = BookingDtoOutcoming.builder()
+                .status("APPROVED")
+                .booker(userOne)
+                .item(itemOne)
+                .end(bookingOneDto.getEnd())
+                .start(bookingOneDto.getStart())
+                .build();
+
+        when(bookingService.getAllByUserAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingOneDtoOut));
+
+        mvc.perform(get("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1L)
+                        .param("cursor", "2024-04-05T23:23:00,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].status").value(bookingOneDtoOut.getStatus()))
+                .andExpect(jsonPath("$.[0].item.id").value(itemOne.getId()))
+                .andExpect(jsonPath("$.[0].booker.id").value(userOne.getId()));
+    }
+
     @Test
     void getOwnerBookings() throws Exception {
         UserDto userOne = UserDto.builder()
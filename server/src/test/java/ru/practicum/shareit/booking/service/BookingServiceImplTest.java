@@ -6,29 +6,48 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIncoming;
 import ru.practicum.shareit.booking.dto.BookingDtoOutcoming;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,7 +68,9 @@ class BookingServiceImplTest {
 
     @BeforeEach
     public void setUp() {
-        bookingService = new BookingServiceImpl(userRepository, bookingRepository, itemRepository, bookingMapper);
+        bookingService = new BookingServiceImpl(userRepository, bookingRepository, itemRepository, bookingMapper,
+                new ValidatorCache(userRepository, itemRepository), new BookingIntervalIndex(bookingRepository, 100),
+                new ItemLockRegistry(16));
 
         userMapper = new UserMapper();
         itemMapper = new ItemMapper();
@@ -151,13 +172,6 @@ class BookingServiceImplTest {
                 .endDate(bookingOneDto.getEnd())
                 .startDate(bookingOneDto.getStart())
                 .build();
-        Booking bookingTwo = Booking.builder()
-                .status("APPROVED")
-                .booker(userOne)
-                .item(itemOne)
-                .endDate(bookingOneDto.getEnd())
-                .startDate(bookingOneDto.getStart())
-                .build();
         BookingDtoOutcoming bookingTwoDtoOut = BookingDtoOutcoming.builder()
                 .status("APPROVED")
                 .booker(userMapper.userToDto(userOne))
@@ -168,8 +182,7 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
-        when(bookingRepository.save(any())).thenReturn(bookingTwo);
+        when(bookingRepository.updateStatusIfWaiting(any(), anyLong(), anyString())).thenReturn(1);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingTwoDtoOut);
 
         BookingDtoOutcoming response = bookingService.updateBooking(1L, 1L, "true");
@@ -201,13 +214,6 @@ class BookingServiceImplTest {
                 .endDate(bookingOneDto.getEnd())
                 .startDate(bookingOneDto.getStart())
                 .build();
-        Booking bookingTwo = Booking.builder()
-                .status("APPROVED")
-                .booker(userOne)
-                .item(itemOne)
-                .endDate(bookingOneDto.getEnd())
-                .startDate(bookingOneDto.getStart())
-                .build();
         BookingDtoOutcoming bookingTwoDtoOut = BookingDtoOutcoming.builder()
                 .status("REJECTED")
                 .booker(userMapper.userToDto(userOne))
@@ -218,8 +224,7 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
-        when(bookingRepository.save(any())).thenReturn(bookingTwo);
+        when(bookingRepository.updateStatusIfWaiting(any(), anyLong(), anyString())).thenReturn(1);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingTwoDtoOut);
 
         BookingDtoOutcoming response = bookingService.updateBooking(1L, 1L, "false");
@@ -227,30 +232,7 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void updateBookingThrowObjectNotFoundExceptionForUserTest() {
-        when(userRepository.existsById(anyLong())).thenReturn(false);
-
-        assertThrows(ObjectNotFoundException.class, () -> bookingService
-                .updateBooking(1L, 1L, "true"));
-    }
-
-    @Test
-    void updateBookingThrowObjectNotFoundExceptionForBookingTest() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong()))
-                .thenThrow(new ObjectNotFoundException("Данное бронирование не существет"));
-
-        assertThrows(ObjectNotFoundException.class, () -> bookingService
-                .updateBooking(1L, 1L, "true"));
-    }
-
-    @Test
-    void updateBookingThrowObjectNotFoundExceptionForItemTest() {
-        BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
-                .itemId(1L)
-                .start(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
-                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
-                .build();
+    void updateBookingThrowsConflictExceptionTest() {
         User userOne = User.builder()
                 .name("User1")
                 .id(1L)
@@ -263,16 +245,36 @@ class BookingServiceImplTest {
                 .description("description item 1")
                 .available(true).build();
         Booking bookingOne = Booking.builder()
+                .id(1L)
                 .status("WAITING")
                 .booker(userOne)
                 .item(itemOne)
-                .endDate(bookingOneDto.getEnd())
-                .startDate(bookingOneDto.getStart())
+                .endDate(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .startDate(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenThrow(new ObjectNotFoundException("Данный предмет не существет"));
+        when(bookingRepository.updateStatusIfWaiting(anyLong(), anyLong(), anyString())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> bookingService
+                .updateBooking(1L, 1L, "true"));
+        verify(bookingRepository, times(3)).updateStatusIfWaiting(1L, 0L, "APPROVED");
+    }
+
+    @Test
+    void updateBookingThrowObjectNotFoundExceptionForUserTest() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> bookingService
+                .updateBooking(1L, 1L, "true"));
+    }
+
+    @Test
+    void updateBookingThrowObjectNotFoundExceptionForBookingTest() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findById(anyLong()))
+                .thenThrow(new ObjectNotFoundException("Данное бронирование не существет"));
 
         assertThrows(ObjectNotFoundException.class, () -> bookingService
                 .updateBooking(1L, 1L, "true"));
@@ -306,7 +308,6 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
 
         assertThrows(ObjectNotFoundException.class, () -> bookingService
                 .updateBooking(1L, 1L, "true"));
@@ -340,7 +341,6 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingTwo));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
 
         assertThrows(InvalidRequestException.class, () -> bookingService
                 .updateBooking(1L, 1L, "true"));
@@ -381,7 +381,6 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
         when(bookingMapper.bookingDto(any(Booking.class))).thenReturn(bookingOneDtoOut);
 
         BookingDtoOutcoming response = bookingService.getBookingById(1L, 1L);
@@ -404,39 +403,6 @@ class BookingServiceImplTest {
         assertThrows(ObjectNotFoundException.class, () -> bookingService.getBookingById(1L, 1L));
     }
 
-    @Test
-    void getBookingByIdThrowsObjectNotFoundExceptionForItemTest() {
-        BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
-                .itemId(1L)
-                .start(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
-                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
-                .build();
-        User userOne = User.builder()
-                .name("User1")
-                .id(1L)
-                .email("user1@user.om")
-                .build();
-        Item itemOne = Item.builder()
-                .id(1L)
-                .name("item1")
-                .ownerId(1L)
-                .description("description item 1")
-                .available(true).build();
-        Booking bookingOne = Booking.builder()
-                .status("WAITING")
-                .booker(userOne)
-                .item(itemOne)
-                .endDate(bookingOneDto.getEnd())
-                .startDate(bookingOneDto.getStart())
-                .build();
-
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenThrow(new ObjectNotFoundException("Данный предмет не существет"));
-
-        assertThrows(ObjectNotFoundException.class, () -> bookingService.getBookingById(1L, 1L));
-    }
-
     @Test
     void getBookingByIdThrowsObjectNotFoundExceptionForAccessTest() {
         BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
@@ -465,7 +431,6 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(bookingOne));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
 
         assertThrows(ObjectNotFoundException.class, () -> bookingService.getBookingById(3L, 3L));
     }
@@ -504,7 +469,8 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDate(anyLong(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.ALL), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
 
@@ -548,8 +514,9 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
-        when(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(any(), any(), any(),
-                any())).thenReturn(new PageImpl<>(List.of(bookingOne)));
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.CURRENT), any(),
+                isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(bookingOne)));
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByUser(1L, "CURRENT", 0, 10);
         assertEquals(response.size(), 1);
@@ -591,7 +558,8 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
-        when(bookingRepository.findByBookerIdAndEndDateBeforeOrderByStartDateDesc(any(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.PAST), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByUser(1L, "PAST", 0, 10);
@@ -634,7 +602,8 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
-        when(bookingRepository.findByBookerIdAndStartDateAfterOrderByStartDateDesc(any(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.FUTURE), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByUser(1L, "FUTURE", 0, 10);
@@ -677,7 +646,8 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
-        when(bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDateDesc(any(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.WAITING), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByUser(1L, "WAITING", 0, 10);
@@ -720,7 +690,8 @@ class BookingServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
-        when(bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDateDesc(any(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), anyLong(), eq(State.REJECTED), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByUser(1L, "REJECTED", 0, 10);
@@ -770,7 +741,9 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findByOwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(bookingOne)));
+        when(bookingRepository.findByState(eq(BookingRole.OWNER), anyLong(), eq(State.ALL), any(),
+                isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(bookingOne)));
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
 
         Collection<BookingDtoOutcoming> response = bookingService.getAllByOwner(1L, "ALL", 0, 10);
@@ -812,7 +785,8 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findByOwnerIdCurrent(anyLong(), any(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.OWNER), anyLong(), eq(State.CURRENT), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
 
@@ -855,7 +829,8 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findByOwnerIdPast(anyLong(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.OWNER), anyLong(), eq(State.PAST), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
 
@@ -898,7 +873,8 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findByOwnerIdFuture(anyLong(), any(), any()))
+        when(bookingRepository.findByState(eq(BookingRole.OWNER), anyLong(), eq(State.FUTURE), any(),
+                isNull(), any()))
                 .thenReturn(new PageImpl<>(List.of(bookingOne)));
         when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
 
@@ -915,6 +891,234 @@ class BookingServiceImplTest {
                 .getAllByOwner(1L, "ALL", 0, 10));
     }
 
+    @Test
+    void getAllByUserAfterTest() {
+        User userOne = User.builder()
+                .name("User1")
+                .id(1L)
+                .email("user1@user.om")
+                .build();
+        Item itemOne = Item.builder()
+                .id(1L)
+                .name("item1")
+                .ownerId(2L)
+                .description("description item 1")
+                .available(true).build();
+        Booking bookingOne = Booking.builder()
+                .id(1L)
+                .status("WAITING")
+                .booker(userOne)
+                .item(itemOne)
+                .startDate(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
+                .endDate(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .build();
+        BookingDtoOutcoming bookingOneDtoOut = BookingDtoOutcoming.builder()
+                .id(1L)
+                .status("WAITING")
+                .booker(userMapper.userToDto(userOne))
+                .item(itemMapper.itemToDto(itemOne))
+                .start(bookingOne.getStartDate())
+                .end(bookingOne.getEndDate())
+                .build();
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        Cursor after = Cursor.builder()
+                .time(LocalDateTime.of(2024, Month.MARCH, 6, 23, 23))
+                .id(5L)
+                .build();
+        when(bookingRepository.findByState(eq(BookingRole.BOOKER), eq(1L), eq(State.WAITING), any(), eq(after),
+                eq(PageRequest.of(0, 10)))).thenReturn(new SliceImpl<>(List.of(bookingOne)));
+        when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
+
+        Collection<BookingDtoOutcoming> response = bookingService.getAllByUserAfter(1L, "WAITING",
+                "2024-03-06T23:23:00,5", 10);
+        assertEquals(response.size(), 1);
+        assertTrue(response.contains(bookingOneDtoOut));
+    }
+
+    @Test
+    void getAllByOwnerAfterTest() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByState(eq(BookingRole.OWNER), anyLong(), eq(State.PAST), any(),
+                any(Cursor.class), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        Collection<BookingDtoOutcoming> response = bookingService.getAllByOwnerAfter(1L, "PAST",
+                "2024-03-06T23:23:00,5", 10);
+        assertEquals(response.size(), 0);
+    }
+
+    @Test
+    void getAllByOwnerAfterThrowsInvalidRequestExceptionForCursorTest() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> bookingService
+                .getAllByOwnerAfter(1L, "ALL", "2024-03-06T23:23:00", 10));
+    }
+
+    @Test
+    void getAllByUserAfterThrowsInvalidRequestExceptionForStateTest() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> bookingService
+                .getAllByUserAfter(1L, "UNKNOWN", "2024-03-06T23:23:00,5", 10));
+    }
+
+    @Test
+    void createBookingsLoadsItemsOnceAndReportsEachElementTest() {
+        User userOne = User.builder()
+                .name("User1")
+                .id(1L)
+                .email("user1@user.om")
+                .build();
+        Item itemOne = Item.builder()
+                .id(1L)
+                .name("item1")
+                .ownerId(2L)
+                .description("description item 1")
+                .available(true).build();
+        BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
+                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .build();
+        BookingDtoIncoming bookingTwoDto = BookingDtoIncoming.builder()
+                .itemId(2L)
+                .start(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
+                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .build();
+        BookingDtoOutcoming bookingOneDtoOut = BookingDtoOutcoming.builder()
+                .status("WAITING")
+                .build();
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userOne));
+        when(itemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(itemOne));
+        when(bookingMapper.bookingDto(any())).thenReturn(bookingOneDtoOut);
+
+        List<BookingBatchResult> response = bookingService.createBookings(List.of(bookingOneDto, bookingTwoDto),
+                1L);
+        assertEquals(response.size(), 2);
+        assertEquals(response.get(0).getStatus(), 200);
+        assertEquals(response.get(0).getBooking(), bookingOneDtoOut);
+        assertEquals(response.get(1).getStatus(), 404);
+        verify(itemRepository, times(1)).findAllById(any());
+        verify(bookingRepository).insertAll(argThat(bookings -> bookings.size() == 1
+                && Objects.equals(bookings.get(0).getOwnerId(), 2L)));
+    }
+
+    @Test
+    void createBookingsReportsRejectedRowTest() {
+        User userOne = User.builder()
+                .name("User1")
+                .id(1L)
+                .email("user1@user.om")
+                .build();
+        Item itemOne = Item.builder()
+                .id(1L)
+                .name("item1")
+                .ownerId(2L)
+                .description("description item 1")
+                .available(true).build();
+        BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2024, Month.MARCH, 5, 23, 23))
+                .end(LocalDateTime.of(2024, Month.APRIL, 8, 23, 23))
+                .build();
+        BookingDtoIncoming bookingTwoDto = BookingDtoIncoming.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2024, Month.MAY, 5, 23, 23))
+                .end(LocalDateTime.of(2024, Month.MAY, 8, 23, 23))
+                .build();
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userOne));
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(itemOne));
+        when(bookingRepository.findActivePeriods(1L)).thenReturn(List.of());
+        when(bookingRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            return List.of(bookings.get(1));
+        });
+        when(bookingMapper.bookingDto(any())).thenReturn(BookingDtoOutcoming.builder().status("WAITING").build());
+
+        List<BookingBatchResult> response = bookingService.createBookings(List.of(bookingOneDto, bookingTwoDto),
+                1L);
+        assertEquals(response.get(0).getStatus(), 200);
+        assertEquals(response.get(1).getStatus(), 400);
+        assertEquals(response.get(1).getError(), "Предмет уже забронирован на это время");
+    }
+
+    @Test
+    void updateBookingsTest() {
+        User userOne = User.builder()
+                .name("User1")
+                .id(1L)
+                .email("user1@user.om")
+                .build();
+        Item itemOne = Item.builder()
+                .id(1L)
+                .name("item1")
+                .ownerId(2L)
+                .description("description item 1")
+                .available(true).build();
+        Booking bookingOne = Booking.builder()
+                .id(1L)
+                .status("WAITING")
+                .booker(userOne)
+                .item(itemOne)
+                .build();
+        Booking bookingTwo = Booking.builder()
+                .id(2L)
+                .status("APPROVED")
+                .booker(userOne)
+                .item(itemOne)
+                .build();
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(bookingOne, bookingTwo));
+        when(bookingRepository.updateStatusesIfWaiting(List.of(bookingOne), List.of("REJECTED")))
+                .thenReturn(new int[]{1});
+
+        List<BookingBatchResult> response = bookingService.updateBookings(2L, List.of(
+                BookingApprovalDto.builder().bookingId(1L).approved(false).build(),
+                BookingApprovalDto.builder().bookingId(2L).approved(true).build()));
+        assertEquals(response.size(), 2);
+        assertEquals(response.get(0).getStatus(), 200);
+        assertEquals(response.get(1).getStatus(), 400);
+        verify(bookingMapper).bookingDto(argThat(booking -> booking.getId() == 1L
+                && booking.getStatus().equals("REJECTED") && booking.getVersion() == 1L));
+        assertEquals(bookingOne.getStatus(), "WAITING");
+        verify(bookingRepository, never()).updateStatusIfWaiting(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void updateBookingsRetriesConflictingRowTest() {
+        Item itemOne = Item.builder()
+                .id(1L)
+                .ownerId(2L)
+                .build();
+        Booking stale = Booking.builder()
+                .id(1L)
+                .status("WAITING")
+                .item(itemOne)
+                .build();
+        Booking changed = Booking.builder()
+                .id(1L)
+                .status("APPROVED")
+                .item(itemOne)
+                .version(1L)
+                .build();
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(stale));
+        when(bookingRepository.updateStatusesIfWaiting(any(), any())).thenReturn(new int[]{0});
+        when(bookingRepository.updateStatusIfWaiting(1L, 0L, "REJECTED")).thenReturn(0);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(changed));
+
+        List<BookingBatchResult> response = bookingService.updateBookings(2L, List.of(
+                BookingApprovalDto.builder().bookingId(1L).approved(false).build()));
+        assertEquals(response.get(0).getStatus(), 400);
+        assertEquals(response.get(0).getError(), "Бронирование уже обработано");
+    }
+
     @Test
     void bookingValidationThrowInvalidRequestExceptionForEndBeforeTest() {
         BookingDtoIncoming bookingOneDto = BookingDtoIncoming.builder()
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemLockRegistryTest {
+    private final ItemLockRegistry registry = new ItemLockRegistry(4);
+
+    @Test
+    void stripeOfTest() {
+        assertEquals(registry.stripeOf(1L), 1);
+        assertEquals(registry.stripeOf(4L), 0);
+        assertEquals(registry.stripeOf(5L), registry.stripeOf(1L));
+    }
+
+    @Test
+    void lockBlocksSameStripeOnlyTest() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        registry.bindTo(meters);
+
+        CompletableFuture<Void> sameStripe;
+        try (ItemLockRegistry.Lease ignored = registry.lock(1L)) {
+            CompletableFuture.runAsync(() -> registry.lock(2L).close()).get(5, TimeUnit.SECONDS);
+            sameStripe = CompletableFuture.runAsync(() -> registry.lock(5L).close());
+            assertThrows(TimeoutException.class, () -> sameStripe.get(200, TimeUnit.MILLISECONDS));
+        }
+        sameStripe.get(5, TimeUnit.SECONDS);
+
+        assertEquals(meters.get("booking.item.lock.acquired").tag("stripe", "1").functionCounter().count(), 2);
+        assertEquals(meters.get("booking.item.lock.contended").tag("stripe", "1").functionCounter().count(), 1);
+        assertEquals(meters.get("booking.item.lock.contended").tag("stripe", "2").functionCounter().count(), 0);
+        assertTrue(meters.get("booking.item.lock.wait").tag("stripe", "1").functionCounter().count() > 0);
+    }
+
+    @Test
+    void lockReleasedAfterTransactionCompletionTest() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.lock(List.of(3L, 1L, 7L)).close();
+            assertFalse(CompletableFuture.supplyAsync(this::tryStripeThree).get(5, TimeUnit.SECONDS));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            assertTrue(CompletableFuture.supplyAsync(this::tryStripeThree).get(5, TimeUnit.SECONDS));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private boolean tryStripeThree() {
+        CompletableFuture<Void> lock = CompletableFuture.runAsync(() -> registry.lock(3L).close());
+        try {
+            lock.get(200, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql("/schema.sql")
+class BookingListingStatisticsTest {
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("owner@yandex.ru")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booker@yandex.ru")
+                .build());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Item " + i)
+                    .available(true)
+                    .ownerId(owner.getId())
+                    .build());
+            User otherBooker = userRepository.save(User.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "@yandex.ru")
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .ownerId(item.getOwnerId())
+                    .booker(booker)
+                    .startDate(now.minusDays(1).plusMinutes(i))
+                    .endDate(now.plusDays(1))
+                    .status("WAITING")
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .ownerId(item.getOwnerId())
+                    .booker(otherBooker)
+                    .startDate(now.minusDays(3).plusMinutes(i))
+                    .endDate(now.minusDays(2))
+                    .status("APPROVED")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookerListingsFetchItemsAndBookersTest() {
+        assertListingsCost(BookingRole.BOOKER, booker.getId(), State.ALL, State.CURRENT, State.WAITING);
+    }
+
+    @Test
+    void ownerListingsFetchItemsAndBookersTest() {
+        assertListingsCost(BookingRole.OWNER, owner.getId(), State.ALL, State.CURRENT, State.PAST, State.WAITING);
+    }
+
+    private void assertListingsCost(BookingRole role, Long userId, State... states) {
+        Cursor after = Cursor.builder()
+                .time(now.plusDays(10))
+                .id(Long.MAX_VALUE)
+                .build();
+        for (State state : states) {
+            assertPageCost(() -> bookingRepository.findByState(role, userId, state, now, null, pageable));
+            assertPageCost(() -> bookingRepository.findByState(role, userId, state, now, after, pageable));
+        }
+    }
+
+    private void assertPageCost(Supplier<Slice<Booking>> query) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<Booking> page = query.get();
+        page.forEach(bookingMapper::bookingDto);
+
+        assertEquals(page.getNumberOfElements(), PAGE_SIZE);
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+}
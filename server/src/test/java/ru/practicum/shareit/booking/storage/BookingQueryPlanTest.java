@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.storage.BookingQueryPlanTest$RecordingInspector")
+@Sql("/schema.sql")
+class BookingQueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> queries() {
+        List<Arguments> queries = new ArrayList<>();
+        for (BookingRole role : BookingRole.values()) {
+            for (State state : State.values()) {
+                queries.add(Arguments.of(role + " " + state, (Consumer<BookingRepository>) repository ->
+                        repository.findByState(role, 1L, state, NOW, null, Pageable.ofSize(10))));
+            }
+            queries.add(Arguments.of(role + " ALL after cursor", (Consumer<BookingRepository>) repository ->
+                    repository.findByState(role, 1L, State.ALL, NOW, Cursor.builder().time(NOW).id(1L).build(),
+                            Pageable.ofSize(10))));
+        }
+        queries.add(Arguments.of("last and next", (Consumer<BookingRepository>) repository ->
+                repository.findLastAndNextByItemIds(List.of(1L, 2L), NOW, "APPROVED")));
+        queries.add(Arguments.of("comment eligibility", (Consumer<BookingRepository>) repository ->
+                repository.findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(1L, 1L, NOW)));
+        queries.add(Arguments.of("active periods", (Consumer<BookingRepository>) repository ->
+                repository.findActivePeriodsBetween(1L, NOW, NOW.plusDays(1))));
+        queries.add(Arguments.of("active overlap", (Consumer<BookingRepository>) repository ->
+                repository.existsActiveOverlap(1L, NOW, NOW.plusDays(1))));
+        queries.add(Arguments.of("items with active overlap", (Consumer<BookingRepository>) repository ->
+                repository.findItemIdsWithActiveOverlap(List.of(1L, 2L), NOW, NOW.plusDays(1))));
+        return queries.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void generatedQueriesUseIndexTest(String name, Consumer<BookingRepository> query) {
+        query.accept(bookingRepository);
+
+        assertFalse(STATEMENTS.isEmpty(), name);
+        for (String statement : STATEMENTS) {
+            String plan = explain(statement);
+            assertFalse(plan.contains("BOOKINGS.tableScan"), plan);
+            assertFalse(plan.contains("ITEMS.tableScan"), plan);
+        }
+    }
+
+    private String explain(String statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement)) {
+                int parameters = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase().startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -5,10 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
@@ -16,9 +21,13 @@ import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @Sql("/schema.sql")
@@ -67,24 +76,28 @@ class BookingRepositoryTest {
         bookingOne = Booking.builder()
                 .booker(userOne)
                 .item(itemOne)
+                .ownerId(itemOne.getOwnerId())
                 .startDate(LocalDateTime.of(2024, Month.APRIL, 21, 12, 12))
                 .endDate(LocalDateTime.of(2024, Month.APRIL, 21, 18, 12))
                 .build();
         bookingTwo = Booking.builder()
                 .booker(userOne)
                 .item(itemTwo)
+                .ownerId(itemTwo.getOwnerId())
                 .startDate(LocalDateTime.of(2024, Month.APRIL, 21, 12, 12))
                 .endDate(LocalDateTime.of(2024, Month.MAY, 21, 18, 12))
                 .build();
         bookingThree = Booking.builder()
                 .booker(userTwo)
                 .item(itemOne)
+                .ownerId(itemOne.getOwnerId())
                 .startDate(LocalDateTime.of(2024, Month.APRIL, 12, 12, 12))
                 .endDate(LocalDateTime.of(2024, Month.APRIL, 12, 18, 12))
                 .build();
         bookingFour = Booking.builder()
                 .booker(userTwo)
                 .item(itemTwo)
+                .ownerId(itemTwo.getOwnerId())
                 .startDate(LocalDateTime.of(2024, Month.APRIL, 14, 12, 12))
                 .endDate(LocalDateTime.of(2024, Month.APRIL, 16, 18, 12))
                 .build();
@@ -100,9 +113,42 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerIdOrderByStartDateDescTest() {
-        Collection<Booking> response = bookingRepository.findByBookerIdOrderByStartDate(userOne.getId(),
-                Pageable.ofSize(10)).getContent();
+    void insertAllRejectsOnlyViolatingRowsTest() {
+        entityManager.flush();
+        long before = bookingRepository.count();
+        Booking valid = batchBooking(itemOne, itemOne.getOwnerId());
+        Booking violating = batchBooking(itemOne, itemTwo.getOwnerId());
+        Booking other = batchBooking(itemTwo, itemTwo.getOwnerId());
+
+        List<Booking> rejected = bookingRepository.insertAll(List.of(valid, violating, other));
+
+        assertEquals(rejected, List.of(violating));
+        assertNull(violating.getId());
+        assertTrue(valid.getId() != null && other.getId() != null);
+        assertEquals(bookingRepository.count(), before + 2);
+        assertTrue(bookingRepository.insertAll(List.of(batchBooking(itemTwo, itemTwo.getOwnerId()))).isEmpty());
+    }
+
+    @Test
+    void existsActiveOverlapTest() {
+        bookingOne.setStatus("APPROVED");
+        bookingThree.setStatus("REJECTED");
+        bookingRepository.saveAll(List.of(bookingOne, bookingThree));
+        LocalDateTime start = bookingOne.getStartDate();
+        LocalDateTime end = bookingOne.getEndDate();
+
+        assertTrue(bookingRepository.existsActiveOverlap(itemOne.getId(), start.minusHours(1), start.plusHours(1)));
+        assertTrue(bookingRepository.existsActiveOverlap(itemOne.getId(), start.plusHours(1), end.minusHours(1)));
+        assertFalse(bookingRepository.existsActiveOverlap(itemOne.getId(), end, end.plusHours(1)));
+        assertFalse(bookingRepository.existsActiveOverlap(itemTwo.getId(), start, end.plusDays(60)));
+        assertFalse(bookingRepository.existsActiveOverlap(itemOne.getId(), bookingThree.getStartDate(),
+                bookingThree.getEndDate()));
+        assertEquals(bookingRepository.findActivePeriods(itemOne.getId()).size(), 1);
+    }
+
+    @Test
+    void findByStateBookerAllTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userOne.getId(), State.ALL, null);
 
         assertEquals(response.size(), 2);
         assert (response.contains(bookingOne));
@@ -110,31 +156,22 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDescTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository
-                .findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(userOne.getId(), time, time,
-                        Pageable.ofSize(10)).getContent();
+    void findByStateBookerCurrentTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userOne.getId(), State.CURRENT, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findByBookerIdAndEndDateBeforeOrderByStartDateDescTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository
-                .findByBookerIdAndEndDateBeforeOrderByStartDateDesc(userOne.getId(), time,
-                        Pageable.ofSize(10)).getContent();
+    void findByStateBookerPastTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userOne.getId(), State.PAST, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findByBookerIdAndStartDateAfterOrderByStartDateDescTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository
-                .findByBookerIdAndStartDateAfterOrderByStartDateDesc(userTwo.getId(), time,
-                        Pageable.ofSize(10)).getContent();
+    void findByStateBookerFutureTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userTwo.getId(), State.FUTURE, null);
 
         assertEquals(response.size(), 2);
         assert (response.contains(bookingThree));
@@ -142,18 +179,15 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerIdAndStatusEqualsOrderByStartDateDescTest() {
-        Collection<Booking> response = bookingRepository
-                .findByBookerIdAndStatusEqualsOrderByStartDateDesc(userOne.getId(), "APPROVED",
-                        Pageable.ofSize(10)).getContent();
+    void findByStateBookerRejectedTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userOne.getId(), State.REJECTED, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findByOwnerIdTest() {
-        Collection<Booking> response = bookingRepository.findByOwnerId(userTwo.getId(),
-                Pageable.ofSize(10)).getContent();
+    void findByStateOwnerAllTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.ALL, null);
 
         assertEquals(response.size(), 2);
         assert (response.contains(bookingThree));
@@ -161,28 +195,22 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByOwnerIdCurrentTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository.findByOwnerIdCurrent(userTwo.getId(), time, time,
-                Pageable.ofSize(10)).getContent();
+    void findByStateOwnerCurrentTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.CURRENT, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findByOwnerIdPastTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository.findByOwnerIdPast(userTwo.getId(), time,
-                Pageable.ofSize(10)).getContent();
+    void findByStateOwnerPastTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.PAST, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findByOwnerIdFutureTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository.findByOwnerIdFuture(userTwo.getId(), time,
-                Pageable.ofSize(10)).getContent();
+    void findByStateOwnerFutureTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.FUTURE, null);
 
         assertEquals(response.size(), 2);
         assert (response.contains(bookingThree));
@@ -190,37 +218,112 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByOwnerIdStatusTest() {
-        Collection<Booking> response = bookingRepository.findByOwnerIdStatus(userTwo.getId(), "WAITING",
-                Pageable.ofSize(10)).getContent();
+    void findByStateOwnerWaitingTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.WAITING, null);
 
         assertEquals(response.size(), 0);
     }
 
     @Test
-    void findTopByItemIdAndStartDateBeforeAndStatusOrderByEndDateDescTest() {
+    void findByStateOwnerFollowsItemOwnerTest() {
+        entityManager.flush();
+        entityManager.createNativeQuery("update items set owner_id = ?1 where id = ?2")
+                .setParameter(1, userOne.getId())
+                .setParameter(2, itemOne.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(findByState(BookingRole.OWNER, userOne.getId(), State.ALL, null).size(), 4);
+        assertEquals(findByState(BookingRole.OWNER, userTwo.getId(), State.ALL, null).size(), 0);
+    }
+
+    @Test
+    void findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDescTest() {
         LocalDateTime time = LocalDateTime.now();
-        Booking response = bookingRepository.findTopByItemIdAndStartDateBeforeAndStatusOrderByEndDateDesc(itemOne.getId(),
-                time, "WAITING");
+        Collection<Booking> response = bookingRepository.findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(itemOne.getId(),
+                userOne.getId(), time);
 
-        assertNull(response);
+        assertEquals(response.size(), 0);
     }
 
     @Test
-    void findTopByItemIdAndStartDateAfterAndStatusOrderByStartDateAscTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Booking response = bookingRepository.findTopByItemIdAndStartDateAfterAndStatusOrderByStartDateAsc(itemOne.getId(),
-                time, "WAITING");
+    void findLastAndNextByItemIdsTest() {
+        LocalDateTime time = LocalDateTime.of(2024, Month.APRIL, 13, 12, 12);
+        bookingOne.setStatus("APPROVED");
+        bookingThree.setStatus("APPROVED");
+        bookingFour.setStatus("APPROVED");
+        List<ItemBookingView> response = bookingRepository.findLastAndNextByItemIds(List.of(itemOne.getId(),
+                itemTwo.getId()), time, "APPROVED");
+
+        assertEquals(response.size(), 3);
+        for (ItemBookingView view : response) {
+            if (Objects.equals(view.getKind(), "LAST")) {
+                assertEquals(view.getItemId(), itemOne.getId());
+                assertEquals(view.getId(), bookingThree.getId());
+            } else if (Objects.equals(view.getItemId(), itemOne.getId())) {
+                assertEquals(view.getId(), bookingOne.getId());
+                assertEquals(view.getBookerId(), userOne.getId());
+            } else {
+                assertEquals(view.getId(), bookingFour.getId());
+            }
+        }
+    }
+
+    @Test
+    void findByStateBookerAfterTest() {
+        Collection<Booking> response = findByState(BookingRole.BOOKER, userOne.getId(), State.ALL,
+                cursorOf(bookingTwo));
 
-        assertNull(response);
+        assertEquals(response.size(), 1);
+        assert (response.contains(bookingOne));
     }
 
     @Test
-    void findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDescTest() {
-        LocalDateTime time = LocalDateTime.now();
-        Collection<Booking> response = bookingRepository.findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(itemOne.getId(),
-                userOne.getId(), time);
+    void findByStateOwnerAfterTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.ALL,
+                cursorOf(bookingOne));
+
+        assertEquals(response.size(), 1);
+        assert (response.contains(bookingThree));
+    }
+
+    @Test
+    void findByStateOwnerWaitingAfterTest() {
+        Collection<Booking> response = findByState(BookingRole.OWNER, userTwo.getId(), State.WAITING,
+                cursorOf(bookingOne));
 
         assertEquals(response.size(), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByStateHasNextTest() {
+        Slice<Booking> response = bookingRepository.findByState(BookingRole.BOOKER, userTwo.getId(), State.ALL,
+                LocalDateTime.now(), null, Pageable.ofSize(1));
+
+        assertEquals(response.getContent(), List.of(bookingFour));
+        assertTrue(response.hasNext());
+    }
+
+    private Collection<Booking> findByState(BookingRole role, Long userId, State state, Cursor after) {
+        return bookingRepository.findByState(role, userId, state, LocalDateTime.now(), after, Pageable.ofSize(10))
+                .getContent();
+    }
+
+    private Cursor cursorOf(Booking booking) {
+        return Cursor.builder()
+                .time(booking.getStartDate())
+                .id(booking.getId())
+                .build();
+    }
+
+    private Booking batchBooking(Item item, Long ownerId) {
+        return Booking.builder()
+                .booker(userTwo)
+                .item(item)
+                .ownerId(ownerId)
+                .startDate(LocalDateTime.of(2024, Month.JUNE, 1, 12, 0))
+                .endDate(LocalDateTime.of(2024, Month.JUNE, 2, 12, 0))
+                .status("WAITING")
+                .build();
+    }
+}
@@ -5,19 +5,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.constant.Constant.USER_ID;
@@ -99,6 +106,18 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available").value(itemOneDto.getAvailable()));
     }
 
+    @Test
+    void getItemNotModifiedTest() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn("item-1-0-0-0");
+
+        mvc.perform(get("/items/{itemId}", "1")
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0-0-0\""));
+        verify(itemService, never()).getItem(anyLong(), anyLong());
+    }
+
     @Test
     void getItemsByUserTest() throws Exception {
         ItemDto itemOneDto = ItemDto.builder()
@@ -141,6 +160,45 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[0]available").value(itemOneDto.getAvailable()));
     }
 
+    @Test
+    void searchItemsBetweenDatesTest() throws Exception {
+        ItemDto itemOneDto = ItemDto.builder()
+                .name("item1")
+                .description("description item 1")
+                .available(true).build();
+        LocalDateTime start = LocalDateTime.of(2030, Month.MARCH, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2030, Month.MARCH, 5, 10, 0);
+
+        when(itemService.searchItems("description", start, end, 0, 10)).thenReturn(List.of(itemOneDto));
+
+        mvc.perform(get("/items/search")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1L)
+                        .param("text", "description")
+                        .param("start", "2030-03-01T10:00:00")
+                        .param("end", "2030-03-05T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0]name").value(itemOneDto.getName()));
+        verify(itemService, never()).searchItems(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, Month.MARCH, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, Month.MARCH, 5, 10, 0);
+
+        when(itemService.getAvailability(1L, from, to)).thenReturn(List.of(new FreeIntervalDto(from, to)));
+
+        mvc.perform(get("/items/{itemId}/availability", "1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1L)
+                        .param("from", "2030-03-01T10:00:00")
+                        .param("to", "2030-03-05T10:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].start").value("2030-03-01T10:00:00"))
+                .andExpect(jsonPath("$.[0].end").value("2030-03-05T10:00:00"));
+    }
+
     @Test
     void postCommentTest() throws Exception {
         CommentDto commentOne = CommentDto.builder()
@@ -11,10 +11,12 @@ import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,7 +44,7 @@ class CommentServiceImplTest {
     @BeforeEach
     public void setUp() {
         commentService = new CommentServiceImpl(commentMapper, bookingRepository, commentRepository, userRepository,
-                itemRepository);
+                itemRepository, new ValidatorCache(userRepository, itemRepository));
     }
 
     @Test
@@ -63,7 +65,7 @@ class CommentServiceImplTest {
                 .build();
 
         when(commentMapper.commentDtoToComment(any())).thenReturn(commentOne);
-        when(itemRepository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(Item.builder().id(1L).build()));
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(userOne));
         when(commentMapper.commentToDto(any())).thenReturn(commentOneDto);
         when(bookingRepository.findByItemIdAndBookerIdAndEndDateBeforeOrderByStartDateDesc(anyLong(), anyLong(), any()))
@@ -85,7 +87,7 @@ class CommentServiceImplTest {
                 .build();
 
         when(commentMapper.commentDtoToComment(any())).thenReturn(commentOne);
-        when(itemRepository.existsById(anyLong())).thenReturn(false);
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ObjectNotFoundException.class, () -> commentService.addComment(1L, 1L, commentOneDto));
     }
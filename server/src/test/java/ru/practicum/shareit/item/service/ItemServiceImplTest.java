@@ -6,7 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.AccessForbiddenError;
 import ru.practicum.shareit.exception.InvalidRequestException;
@@ -17,11 +19,10 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
-import java.time.LocalDateTime;
-import java.time.Month;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -48,11 +49,14 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
 
     @BeforeEach
     public void setUp() {
         itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, itemMapper,
-                commentRepository, commentMapper);
+                commentRepository, commentMapper, itemSearchIndex,
+                new ValidatorCache(userRepository, itemRepository), new BookingIntervalIndex(bookingRepository, 100));
     }
 
     @Test
@@ -174,10 +178,6 @@ class ItemServiceImplTest {
 
     @Test
     void getItemWithBookingsTest() {
-        User userOne = User.builder()
-                .name("User1")
-                .email("user1@user.om")
-                .build();
         Item itemOne = Item.builder()
                 .name("item1")
                 .description("description item 1")
@@ -187,33 +187,17 @@ class ItemServiceImplTest {
                 .name("item1")
                 .description("description item 1")
                 .available(true).build();
-        Booking bookingLast = Booking.builder()
-                .booker(userOne)
-                .startDate(LocalDateTime.of(2024, Month.FEBRUARY, 1, 12, 12, 12))
-                .endDate(LocalDateTime.of(2024, Month.FEBRUARY, 2, 12, 12, 12))
-                .item(itemOne)
-                .status("APPROVED")
-                .build();
-        Booking bookingNext = Booking.builder()
-                .booker(userOne)
-                .startDate(LocalDateTime.of(2024, Month.APRIL, 1, 12, 12, 12))
-                .endDate(LocalDateTime.of(2024, Month.APRIL, 2, 12, 12, 12))
-                .item(itemOne)
-                .status("APPROVED")
-                .build();
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemOne));
         when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
         when(itemMapper.itemToDto(itemOne)).thenReturn(itemOneDto);
-        when(bookingRepository
-                .findTopByItemIdAndStartDateBeforeAndStatusOrderByEndDateDesc(any(), any(), any()))
-                .thenReturn(bookingLast);
-        when(bookingRepository
-                .findTopByItemIdAndStartDateAfterAndStatusOrderByStartDateAsc(any(), any(), any()))
-                .thenReturn(bookingNext);
+        when(bookingRepository.findLastAndNextByItemIds(any(), any(), anyString()))
+                .thenReturn(List.of(itemBookingView(1L, 1L, 2L, "LAST"), itemBookingView(1L, 2L, 3L, "NEXT")));
 
         ItemDto response = itemService.getItem(1L, 1L);
         assertEquals(response, itemOneDto);
+        assertEquals(response.getLastBooking(), BookingDtoShort.builder().id(1L).bookerId(2L).build());
+        assertEquals(response.getNextBooking(), BookingDtoShort.builder().id(2L).bookerId(3L).build());
     }
 
     @Test
@@ -236,8 +220,8 @@ class ItemServiceImplTest {
                 .available(true).build();
 
         when(itemRepository.findByOwnerIdOrderById(anyLong(), any())).thenReturn(new PageImpl<>(List.of(itemOne)));
-        when(bookingRepository.findAll()).thenReturn(List.of());
-        when(commentRepository.findAll()).thenReturn(List.of());
+        when(bookingRepository.findLastAndNextByItemIds(any(), any(), anyString())).thenReturn(List.of());
+        when(commentRepository.findByItemIdIn(any())).thenReturn(List.of());
         when(itemMapper.itemToDto(itemOne)).thenReturn(itemOneDto);
 
         Collection<ItemDto> response = itemService.getItemsByUser(1L, 0, 10);
@@ -256,11 +240,9 @@ class ItemServiceImplTest {
                 .description("description item 1")
                 .available(true).build();
 
-        when(itemRepository
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(anyString(),
-                        anyString(), any())).thenReturn(new PageImpl<>(List.of(itemOne)));
-        when(bookingRepository.findAll()).thenReturn(List.of());
-        when(commentRepository.findAll()).thenReturn(List.of());
+        when(itemRepository.searchAvailable(anyString(), any())).thenReturn(new PageImpl<>(List.of(itemOne)));
+        when(bookingRepository.findLastAndNextByItemIds(any(), any(), anyString())).thenReturn(List.of());
+        when(commentRepository.findByItemIdIn(any())).thenReturn(List.of());
         when(itemMapper.itemToDto(itemOne)).thenReturn(itemOneDto);
 
         Collection<ItemDto> response = itemService.searchItems("description", 0, 10);
@@ -282,4 +264,28 @@ class ItemServiceImplTest {
         Collection<ItemDto> response = itemService.searchItems("", 0, 10);
         assertEquals(response, List.of());
     }
-}
\ No newline at end of file
+
+    private static ItemBookingView itemBookingView(Long itemId, Long id, Long bookerId, String kind) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public String getKind() {
+                return kind;
+            }
+        };
+    }
+}
@@ -66,4 +66,13 @@ class CommentRepositoryTest {
         assert response.contains(commentOne);
         assert response.contains(commentTwo);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByItemIdInTest() {
+        List<Comment> response = commentRepository.findByItemIdIn(List.of(1L, 2L));
+
+        assertEquals(response.size(), 2);
+        assert response.contains(commentOne);
+        assert response.contains(commentTwo);
+    }
+}
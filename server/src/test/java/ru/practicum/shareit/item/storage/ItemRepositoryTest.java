@@ -5,14 +5,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @DataJpaTest
 @Sql("/schema.sql")
@@ -22,6 +30,10 @@ class ItemRepositoryTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
     private EntityManager entityManager;
 
     @Test
@@ -94,4 +106,160 @@ class ItemRepositoryTest {
         assert (response.contains(itemOne));
         assert (response.contains(itemTwo));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchAvailableTest() {
+        User userOne = User.builder()
+                .name("Carl")
+                .email("carl@yandex.ru")
+                .build();
+        Item itemOne = Item.builder()
+                .name("Book 1")
+                .ownerId(1L)
+                .available(true)
+                .description("Paper")
+                .build();
+        Item itemTwo = Item.builder()
+                .name("Book 2")
+                .ownerId(1L)
+                .available(false)
+                .description("Paper")
+                .build();
+        Item itemThree = Item.builder()
+                .name("Pen")
+                .ownerId(1L)
+                .available(true)
+                .description("Writes in a BOOK")
+                .build();
+        Item itemFour = Item.builder()
+                .name("Pen 100%")
+                .ownerId(1L)
+                .available(true)
+                .description("Ink")
+                .build();
+
+        userRepository.save(userOne);
+        itemRepository.save(itemOne);
+        itemRepository.save(itemTwo);
+        itemRepository.save(itemThree);
+        itemRepository.save(itemFour);
+
+        Collection<Item> response = itemRepository.searchAvailable("book", Pageable.ofSize(10)).getContent();
+
+        assertEquals(response.size(), 2);
+        assert (response.contains(itemOne));
+        assert (response.contains(itemThree));
+        assertEquals(itemRepository.searchAvailable("0%", Pageable.ofSize(10)).getContent().size(), 1);
+        assertEquals(itemRepository.searchAvailable("%", Pageable.ofSize(10)).getContent().size(), 1);
+    }
+
+    @Test
+    void searchAvailableBetweenTest() {
+        LocalDateTime start = LocalDateTime.of(2030, Month.MARCH, 10, 12, 0);
+        LocalDateTime end = start.plusDays(3);
+        User owner = userRepository.save(User.builder()
+                .name("Carl")
+                .email("carl@yandex.ru")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Carl2")
+                .email("carl2@yandex.ru")
+                .build());
+        Item approved = saveItem("Drill 1", owner);
+        Item rejected = saveItem("Drill 2", owner);
+        Item waitingLater = saveItem("Drill 3", owner);
+        saveItem("Saw", owner);
+        saveBooking(approved, booker, start.minusDays(1), start.plusHours(1), "APPROVED");
+        saveBooking(rejected, booker, start, end, "REJECTED");
+        saveBooking(waitingLater, booker, end, end.plusDays(1), "WAITING");
+
+        Collection<Item> response = itemRepository.searchAvailableBetween("drill", start, end, Pageable.ofSize(10))
+                .getContent();
+
+        assertEquals(response, List.of(rejected, waitingLater));
+        assertEquals(itemRepository.searchAvailableBetween("drill", end, end.plusHours(1), Pageable.ofSize(10))
+                .getContent(), List.of(approved, rejected));
+    }
+
+    @Test
+    void findETagTest() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = userRepository.save(User.builder()
+                .name("Carl")
+                .email("carl@yandex.ru")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Carl2")
+                .email("carl2@yandex.ru")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Book")
+                .ownerId(owner.getId())
+                .available(true)
+                .description("Book")
+                .build());
+        entityManager.flush();
+
+        String ownerTag = itemRepository.findETag(item.getId(), owner.getId(), now);
+        String bookerTag = itemRepository.findETag(item.getId(), booker.getId(), now);
+        String listTag = itemRepository.findETagByOwnerId(owner.getId(), now);
+        assertNotEquals(ownerTag, bookerTag);
+        assertEquals(itemRepository.findETag(item.getId(), booker.getId(), now), bookerTag);
+        assertNull(itemRepository.findETag(item.getId() + 100, owner.getId(), now));
+
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .ownerId(item.getOwnerId())
+                .booker(booker)
+                .startDate(now.plusDays(1))
+                .endDate(now.plusDays(2))
+                .status("WAITING")
+                .build());
+        entityManager.flush();
+        assertEquals(itemRepository.findETag(item.getId(), booker.getId(), now), bookerTag);
+        assertNotEquals(itemRepository.findETag(item.getId(), owner.getId(), now), ownerTag);
+        assertNotEquals(itemRepository.findETagByOwnerId(owner.getId(), now), listTag);
+
+        ownerTag = itemRepository.findETag(item.getId(), owner.getId(), now);
+        booking.setStatus("APPROVED");
+        entityManager.flush();
+        String approvedTag = itemRepository.findETag(item.getId(), owner.getId(), now);
+        assertNotEquals(approvedTag, ownerTag);
+        assertNotEquals(itemRepository.findETag(item.getId(), owner.getId(), now.plusDays(1).plusHours(1)),
+                approvedTag);
+
+        commentRepository.save(Comment.builder()
+                .itemId(item.getId())
+                .text("Good")
+                .authorName("Carl2")
+                .created(now)
+                .build());
+        entityManager.flush();
+        assertNotEquals(itemRepository.findETag(item.getId(), booker.getId(), now), bookerTag);
+
+        bookerTag = itemRepository.findETag(item.getId(), booker.getId(), now);
+        item.setName("Book 2");
+        entityManager.flush();
+        assertNotEquals(itemRepository.findETag(item.getId(), booker.getId(), now), bookerTag);
+    }
+
+    private Item saveItem(String name, User owner) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .ownerId(owner.getId())
+                .available(true)
+                .description(name)
+                .build());
+    }
+
+    private void saveBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, String status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .ownerId(item.getOwnerId())
+                .booker(booker)
+                .startDate(start)
+                .endDate(end)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+    private Item itemOne;
+    private Item itemTwo;
+    private Item itemThree;
+
+    @BeforeEach
+    public void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true, false);
+        itemOne = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build();
+        itemTwo = Item.builder()
+                .id(2L)
+                .name("Отвертка")
+                .description("Аккумуляторная отвертка")
+                .available(true)
+                .build();
+        itemThree = Item.builder()
+                .id(3L)
+                .name("Pen")
+                .description("Ink")
+                .available(true)
+                .build();
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(itemOne, itemTwo, itemThree));
+        itemSearchIndex.build();
+    }
+
+    @Test
+    void searchTest() {
+        assertEquals(ids(itemSearchIndex.search("аккум", 0, 10)), List.of(1L, 2L));
+        assertEquals(ids(itemSearchIndex.search("ДРЕЛЬ", 0, 10)), List.of(1L));
+        assertEquals(ids(itemSearchIndex.search("en", 0, 10)), List.of(3L));
+        assertEquals(ids(itemSearchIndex.search("пенInk", 0, 10)), List.of());
+        assertEquals(ids(itemSearchIndex.search("penink", 0, 10)), List.of());
+    }
+
+    @Test
+    void searchPagingTest() {
+        assertEquals(ids(itemSearchIndex.search("аккум", 0, 1)), List.of(1L));
+        assertEquals(ids(itemSearchIndex.search("аккум", 1, 1)), List.of(2L));
+        assertEquals(ids(itemSearchIndex.search("аккум", 2, 1)), List.of());
+    }
+
+    @Test
+    void searchIdsPagingTest() {
+        assertEquals(itemSearchIndex.searchIds("аккум", Long.MIN_VALUE, 1), List.of(1L));
+        assertEquals(itemSearchIndex.searchIds("аккум", 1L, 1), List.of(2L));
+        assertEquals(itemSearchIndex.searchIds("аккум", 2L, 1), List.of());
+        assertEquals(itemSearchIndex.searchIds("n", 1L, 10), List.of(3L));
+    }
+
+    @Test
+    void indexUpdatesTest() {
+        itemTwo.setAvailable(false);
+        itemSearchIndex.indexAfterCommit(itemTwo);
+        itemOne.setName("Перфоратор");
+        itemOne.setDescription("Ударный");
+        itemSearchIndex.indexAfterCommit(itemOne);
+        itemSearchIndex.indexAfterCommit(Item.builder()
+                .id(4L)
+                .name("Шуруповерт")
+                .description("Аккумуляторный шуруповерт")
+                .available(true)
+                .build());
+
+        assertEquals(ids(itemSearchIndex.search("аккум", 0, 10)), List.of(4L));
+        assertEquals(ids(itemSearchIndex.search("перфо", 0, 10)), List.of(1L));
+        assertEquals(ids(itemSearchIndex.search("дрель", 0, 10)), List.of());
+    }
+
+    @Test
+    void updateDuringBuildIsKeptTest() throws Exception {
+        Item itemFour = Item.builder()
+                .id(4L)
+                .name("Шуруповерт")
+                .description("Аккумуляторный шуруповерт")
+                .available(true)
+                .build();
+        CompletableFuture<Void> update = new CompletableFuture<>();
+        when(itemRepository.findByAvailableTrue()).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> itemSearchIndex.indexAfterCommit(itemFour))
+                    .whenComplete((result, error) -> update.complete(null));
+            try {
+                update.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+            }
+            return List.of(itemOne, itemTwo, itemThree);
+        });
+
+        itemSearchIndex.build();
+        update.get(5, TimeUnit.SECONDS);
+
+        assertEquals(ids(itemSearchIndex.search("шуруп", 0, 10)), List.of(4L));
+    }
+
+    @Test
+    void disabledIndexTest() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false, false);
+        disabled.build();
+        disabled.indexAfterCommit(itemOne);
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isAvailabilityEnabled());
+        assertFalse(new ItemSearchIndex(itemRepository, false, true).isAvailabilityEnabled());
+        assertEquals(disabled.search("дрель", 0, 10), List.of());
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
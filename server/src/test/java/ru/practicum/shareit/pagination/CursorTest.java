@@ -0,0 +1,28 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+    @Test
+    void fromTest() {
+        Cursor cursor = Cursor.from("2024-03-06T23:23:00, 5");
+
+        assertEquals(cursor.getTime(), LocalDateTime.of(2024, Month.MARCH, 6, 23, 23));
+        assertEquals(cursor.getId(), 5L);
+        assertEquals(Cursor.from(cursor.encode()), cursor);
+    }
+
+    @Test
+    void fromInvalidTest() {
+        assertThrows(InvalidRequestException.class, () -> Cursor.from("2024-03-06T23:23:00"));
+        assertThrows(InvalidRequestException.class, () -> Cursor.from("yesterday,5"));
+        assertThrows(InvalidRequestException.class, () -> Cursor.from("2024-03-06T23:23:00,five"));
+    }
+}
@@ -5,22 +5,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,10 +45,13 @@ class ItemRequestServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRequestMapper itemRequestMapper;
+    @Mock
+    private ItemRepository itemRepository;
 
     @BeforeEach
     public void setUp() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRequestMapper);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                itemRequestMapper, new ValidatorCache(userRepository, itemRepository));
     }
 
     @Test
@@ -82,13 +97,46 @@ class ItemRequestServiceImplTest {
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRequestRepository.getByUserIdOrderByCreatedAsc(anyLong())).thenReturn(List.of(requestOne));
-        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class))).thenReturn(requestDtoOne);
+        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class), anyCollection())).thenReturn(requestDtoOne);
 
         Collection<ItemRequestDto> response = itemRequestService.getAllUserRequests(1L);
         assertEquals(response.size(), 1);
         assert (response.contains(requestDtoOne));
     }
 
+    @Test
+    void getAllUserRequestsLoadsItemsInOneQueryTest() {
+        ItemRequest requestOne = ItemRequest.builder()
+                .id(1L)
+                .userId(1L)
+                .description("Нужен фотоаппарат")
+                .build();
+        ItemRequest requestTwo = ItemRequest.builder()
+                .id(2L)
+                .userId(1L)
+                .description("Нужна палатка")
+                .build();
+        Item itemOne = Item.builder()
+                .id(1L)
+                .requestId(1L)
+                .build();
+        Item itemTwo = Item.builder()
+                .id(2L)
+                .requestId(1L)
+                .build();
+        ItemRequestDto requestDtoOne = ItemRequestDto.builder().id(1L).build();
+        ItemRequestDto requestDtoTwo = ItemRequestDto.builder().id(2L).build();
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(itemRequestRepository.getByUserIdOrderByCreatedAsc(1L)).thenReturn(List.of(requestOne, requestTwo));
+        when(itemRepository.findByRequestIdIn(List.of(1L, 2L))).thenReturn(List.of(itemOne, itemTwo));
+        when(itemRequestMapper.itemRequestToDto(requestOne, List.of(itemOne, itemTwo))).thenReturn(requestDtoOne);
+        when(itemRequestMapper.itemRequestToDto(requestTwo, List.of())).thenReturn(requestDtoTwo);
+
+        assertEquals(itemRequestService.getAllUserRequests(1L), List.of(requestDtoOne, requestDtoTwo));
+        verify(itemRepository, times(1)).findByRequestIdIn(anyCollection());
+    }
+
     @Test
     void getAllUserRequestsThrowsObjectNotFoundExceptionTest() {
         when(userRepository.existsById(anyLong())).thenReturn(false);
@@ -108,15 +156,37 @@ class ItemRequestServiceImplTest {
                 .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRequestRepository.findAllByOrderByCreatedAsc(any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(requestOne)));
-        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class))).thenReturn(requestDtoOne);
+        when(itemRequestRepository.findByUserIdNotOrderByCreatedAscIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(requestOne)));
+        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class), anyCollection())).thenReturn(requestDtoOne);
 
         Collection<ItemRequestDto> response = itemRequestService.getAllRequests(0, 2, 2L);
         assertEquals(response.size(), 1);
         assert (response.contains(requestDtoOne));
     }
 
+    @Test
+    void getAllRequestsAfterTest() {
+        ItemRequestDto requestDtoOne = ItemRequestDto.builder()
+                .userId(1L)
+                .description("Нужен фотоаппарат")
+                .build();
+        ItemRequest requestOne = ItemRequest.builder()
+                .userId(1L)
+                .description("Нужен фотоаппарат")
+                .build();
+
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(itemRequestRepository.findByUserIdNotAfter(2L, LocalDateTime.of(2024, Month.MARCH, 30, 12, 0), 5L,
+                PageRequest.of(0, 2))).thenReturn(new SliceImpl<>(List.of(requestOne)));
+        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class), anyCollection())).thenReturn(requestDtoOne);
+
+        Collection<ItemRequestDto> response = itemRequestService.getAllRequestsAfter("2024-03-30T12:00,5", 2, 2L);
+        assertEquals(response.size(), 1);
+        assert (response.contains(requestDtoOne));
+        assertThrows(InvalidRequestException.class, () -> itemRequestService.getAllRequestsAfter("5", 2, 2L));
+    }
+
     @Test
     void getAllRequestsThrowsObjectNotFoundExceptionTest() {
         when(userRepository.existsById(anyLong())).thenReturn(false);
@@ -133,11 +203,16 @@ class ItemRequestServiceImplTest {
                 .userId(1L)
                 .description("Нужен фотоаппарат")
                 .build();
+        Item item = Item.builder()
+                .id(1L)
+                .name("Фотоаппарат")
+                .requestId(1L)
+                .build();
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRequestRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRequestRepository.getReferenceById(anyLong())).thenReturn(requestOne);
-        when(itemRequestMapper.itemRequestToDto(any(ItemRequest.class))).thenReturn(requestDtoOne);
+        when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(requestOne));
+        when(itemRepository.findByRequestId(1L)).thenReturn(List.of(item));
+        when(itemRequestMapper.itemRequestToDto(requestOne, List.of(item))).thenReturn(requestDtoOne);
 
         ItemRequestDto response = itemRequestService.getItemRequest(1L, 1L);
         assertEquals(response, requestDtoOne);
@@ -152,7 +227,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getItemRequestThrowsObjectNotFoundExceptionForRequestTest() {
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRequestRepository.existsById(anyLong())).thenReturn(false);
+        when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(ObjectNotFoundException.class, () -> itemRequestService.getItemRequest(1L, 1L));
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
@@ -13,8 +15,12 @@ import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @DataJpaTest
 @Sql("/schema.sql")
@@ -24,6 +30,8 @@ class ItemRequestRepositoryTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
     private EntityManager entityManager;
 
     @Test
@@ -61,37 +69,91 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    void findAllByOrderByCreatedAscTest() {
-        User userOne = User.builder()
-                .id(1L)
+    void findByUserIdNotTest() {
+        User userOne = userRepository.save(User.builder()
                 .name("Carl")
                 .email("carl@yandex.ru")
-                .build();
-        User userTwo = User.builder()
-                .id(2L)
+                .build());
+        User userTwo = userRepository.save(User.builder()
                 .name("Carl2")
                 .email("carl2@yandex.ru")
-                .build();
-        ItemRequest itemRequestOne = ItemRequest.builder()
-                .userId(1L)
+                .build());
+        LocalDateTime created = LocalDateTime.of(2024, Month.MARCH, 30, 12, 00);
+        ItemRequest own = itemRequestRepository.save(ItemRequest.builder()
+                .userId(userOne.getId())
+                .description("Свой")
+                .created(created)
+                .build());
+        ItemRequest first = itemRequestRepository.save(ItemRequest.builder()
+                .userId(userTwo.getId())
+                .description("Первый")
+                .created(created)
+                .build());
+        ItemRequest second = itemRequestRepository.save(ItemRequest.builder()
+                .userId(userTwo.getId())
+                .description("Второй")
+                .created(created)
+                .build());
+        ItemRequest third = itemRequestRepository.save(ItemRequest.builder()
+                .userId(userTwo.getId())
+                .description("Третий")
+                .created(created.plusHours(1))
+                .build());
+
+        assertEquals(itemRequestRepository.findByUserIdNotOrderByCreatedAscIdAsc(userOne.getId(),
+                Pageable.ofSize(2)).getContent(), List.of(first, second));
+        assertEquals(itemRequestRepository.findByUserIdNotAfter(userOne.getId(), second.getCreated(), second.getId(),
+                Pageable.ofSize(2)).getContent(), List.of(third));
+        assertEquals(itemRequestRepository.findByUserIdNotAfter(userTwo.getId(), created.minusDays(1), 0L,
+                Pageable.ofSize(2)).getContent(), List.of(own));
+    }
+
+    @Test
+    void findByUserIdNotAfterUsesIndexTest() {
+        String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN select r.* from requests as r " +
+                "where r.user_id <> 1 and (r.created > now() or (r.created = now() and r.id > 1)) " +
+                "order by r.created asc, r.id asc limit 10").getSingleResult());
+
+        assertFalse(plan.contains("REQUESTS.tableScan"), plan);
+    }
+
+    @Test
+    void findETagTest() {
+        User requester = userRepository.save(User.builder()
+                .name("Carl")
+                .email("carl@yandex.ru")
+                .build());
+        User owner = userRepository.save(User.builder()
+                .name("Carl2")
+                .email("carl2@yandex.ru")
+                .build());
+        ItemRequest itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .userId(requester.getId())
                 .description("Нужен телефон")
                 .created(LocalDateTime.of(2024, Month.MARCH, 30, 12, 00))
-                .build();
-        ItemRequest itemRequestTwo = ItemRequest.builder()
-                .userId(2L)
-                .description("Нужен телефон2")
-                .created(LocalDateTime.of(2024, Month.MARCH, 30, 14, 00))
-                .build();
+                .build());
+        entityManager.flush();
 
-        userRepository.save(userOne);
-        userRepository.save(userTwo);
-        itemRequestRepository.save(itemRequestOne);
-        itemRequestRepository.save(itemRequestTwo);
+        String requestTag = itemRequestRepository.findETag(itemRequest.getId(), owner.getId());
+        String listTag = itemRequestRepository.findETagByUserId(requester.getId());
+        assertEquals(itemRequestRepository.findETag(itemRequest.getId(), requester.getId()), requestTag);
+        assertNull(itemRequestRepository.findETag(itemRequest.getId(), owner.getId() + 100));
+        assertNull(itemRequestRepository.findETagByUserId(owner.getId() + 100));
 
-        Collection<ItemRequest> response = itemRequestRepository
-                .findAllByOrderByCreatedAsc(Pageable.ofSize(10)).getContent();
-        assertEquals(response.size(), 2);
-        assert (response.contains(itemRequestOne));
-        assert (response.contains(itemRequestTwo));
+        Item item = itemRepository.save(Item.builder()
+                .name("Телефон")
+                .description("Телефон")
+                .available(true)
+                .ownerId(owner.getId())
+                .requestId(itemRequest.getId())
+                .build());
+        entityManager.flush();
+        assertNotEquals(itemRequestRepository.findETag(itemRequest.getId(), owner.getId()), requestTag);
+        assertNotEquals(itemRequestRepository.findETagByUserId(requester.getId()), listTag);
+
+        requestTag = itemRequestRepository.findETag(itemRequest.getId(), owner.getId());
+        item.setAvailable(false);
+        entityManager.flush();
+        assertNotEquals(itemRequestRepository.findETag(itemRequest.getId(), owner.getId()), requestTag);
     }
-}
\ No newline at end of file
+}
@@ -5,12 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ServerErrorException;
+import ru.practicum.shareit.item.storage.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
+import ru.practicum.shareit.validator.ValidatorCache;
 
 import java.util.Collection;
 import java.util.List;
@@ -33,10 +36,17 @@ class UserServiceImpTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private ValidatorCache validatorCache;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
 
     @BeforeEach
     public void setUp() {
-        userService = new UserServiceImp(userRepository, userMapper);
+        userService = new UserServiceImp(userRepository, userMapper, validatorCache, bookingIntervalIndex,
+                itemSearchIndex);
     }
 
     @Test
@@ -118,6 +128,7 @@ class UserServiceImpTest {
         userService.deleteUser(1L);
 
         verify(userRepository).deleteById(anyLong());
+        verify(itemSearchIndex).removeOwnerAfterCommit(1L);
     }
 
     @Test
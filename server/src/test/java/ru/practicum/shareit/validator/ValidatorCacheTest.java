@@ -0,0 +1,98 @@
+package ru.practicum.shareit.validator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ValidatorCacheTest {
+    @Autowired
+    private ValidatorCache validatorCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private UserRepository userRepository;
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(ValidatorCache.USERS).clear();
+        cacheManager.getCache(ValidatorCache.ITEMS).clear();
+    }
+
+    @Test
+    void userExistsIsCachedTest() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(validatorCache.userExists(1L));
+        assertTrue(validatorCache.userExists(1L));
+        verify(userRepository, times(1)).existsById(1L);
+
+        validatorCache.evictUser(1L);
+        assertTrue(validatorCache.userExists(1L));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void missingUserIsNotCachedTest() {
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        assertFalse(validatorCache.userExists(2L));
+        assertFalse(validatorCache.userExists(2L));
+        verify(userRepository, times(2)).existsById(2L);
+    }
+
+    @Test
+    void findItemIsCachedTest() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(Item.builder()
+                .id(1L)
+                .ownerId(1L)
+                .available(true)
+                .build()));
+        when(itemRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(validatorCache.findItem(1L).getOwnerId(), 1L);
+        assertEquals(validatorCache.findItem(1L).getOwnerId(), 1L);
+        assertNull(validatorCache.findItem(2L));
+        assertNull(validatorCache.findItem(2L));
+        verify(itemRepository, times(1)).findById(1L);
+        verify(itemRepository, times(2)).findById(2L);
+
+        validatorCache.evictItems();
+        validatorCache.findItem(1L);
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void cacheMetricsTest() {
+        when(userRepository.existsById(3L)).thenReturn(true);
+        double hits = meterRegistry.get("cache.gets").tag("cache", ValidatorCache.USERS).tag("result", "hit")
+                .functionCounter().count();
+
+        validatorCache.userExists(3L);
+        validatorCache.userExists(3L);
+
+        assertEquals(meterRegistry.get("cache.gets").tag("cache", ValidatorCache.USERS).tag("result", "hit")
+                .functionCounter().count(), hits + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.validator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Sql("/schema.sql")
+class ValidatorCacheTransactionTest {
+    @Autowired
+    private ValidatorCache validatorCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(ValidatorCache.USERS).clear();
+        cacheManager.getCache(ValidatorCache.ITEMS).clear();
+        userService.createUser(UserDto.builder()
+                .name("Owner")
+                .email("owner@yandex.ru")
+                .build());
+        itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build(), 1L);
+    }
+
+    @Test
+    void itemReadBeforeCommitIsEvictedTest() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.updateItem(1L, ItemDto.builder().available(false).build(), 1L);
+            assertTrue(readInOtherThread(() -> validatorCache.findItem(1L).getAvailable()));
+        });
+
+        assertFalse(validatorCache.findItem(1L).getAvailable());
+    }
+
+    @Test
+    void userReadBeforeCommitIsEvictedTest() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.deleteUser(1L);
+            assertTrue(readInOtherThread(() -> validatorCache.userExists(1L)));
+            assertTrue(readInOtherThread(() -> validatorCache.findItem(1L) != null));
+        });
+
+        assertFalse(validatorCache.userExists(1L));
+        assertNull(validatorCache.findItem(1L));
+    }
+
+    private static boolean readInOtherThread(Supplier<Boolean> read) {
+        try {
+            return CompletableFuture.supplyAsync(read).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}